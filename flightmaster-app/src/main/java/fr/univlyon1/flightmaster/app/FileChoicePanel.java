@@ -1,10 +1,14 @@
 package fr.univlyon1.flightmaster.app;
 
 import fr.univlyon1.flightmaster.lib.Algos.Coloring;
+import fr.univlyon1.flightmaster.lib.Algos.ColoringAlgorithm;
+import fr.univlyon1.flightmaster.lib.Algos.ColoringCache;
+import fr.univlyon1.flightmaster.lib.Algos.ColoringResult;
 import fr.univlyon1.flightmaster.lib.IO.IOService;
 import fr.univlyon1.flightmaster.lib.Models.Flight;
 import fr.univlyon1.flightmaster.lib.Utils.FlightGraphBuilderUtil;
 import fr.univlyon1.flightmaster.lib.Utils.GraphStatsUtil;
+import fr.univlyon1.flightmaster.lib.Utils.GraphStyleUtil;
 import org.graphstream.graph.Graph;
 
 import javax.swing.*;
@@ -21,7 +25,22 @@ import java.util.List;
  */
 public class FileChoicePanel extends JPanel {
 
+    // Time given to the Tabucol local search, in milliseconds
+    private static final long TABUCOL_TIME_BUDGET_MILLIS = 5000;
+
+    // Time and population given to the hybrid evolutionary algorithm
+    private static final long HYBRID_EVOLUTION_TIME_BUDGET_MILLIS = 5000;
+    private static final int HYBRID_EVOLUTION_POPULATION_SIZE = 10;
+
+    // Colorings of the constructive algorithms kept during the session, to color again a graph already colored
+    private static final ColoringCache COLORING_CACHE = new ColoringCache(20);
+
     public static Graph graph = null;
+
+    // Graph, algorithm and kmax of the last coloring, to recolor from it when only kmax changes
+    private static Graph coloredGraph = null;
+    private static String coloredAlgo = null;
+    private static int coloredKmax = 0;
     public static JButton dataChooserButton = null;
     public static List<Flight> flights = null;
 
@@ -54,25 +73,53 @@ public class FileChoicePanel extends JPanel {
             String selectedAlgo = SettingsPanel.algo_chooser.getSelectedItem().toString();
             int kmax = Integer.parseInt(SettingsPanel.kmax_sp.getValue().toString());
 
-            // Execute the selected algorithm
-            if (selectedAlgo.equals("Welsh-Powell")) {
-                conflicts = Coloring.welshPowell(graph, kmax);
+            boolean alreadyColored = graph == coloredGraph;
+
+            // Execute the selected algorithm, or only repair the last coloring when kmax is the only change
+            if (alreadyColored && selectedAlgo.equals(coloredAlgo) && kmax != coloredKmax && !selectedAlgo.equals("Tabucol")) {
+                conflicts = Coloring.recolor(graph, kmax);
+            } else if (selectedAlgo.equals("Welsh-Powell")) {
+                conflicts = colorWithCache(ColoringAlgorithm.WELSH_POWELL, kmax);
             } else if (selectedAlgo.equals("DSATUR")) {
-                conflicts = Coloring.DSATUR(graph, kmax);
+                conflicts = colorWithCache(ColoringAlgorithm.DSATUR, kmax);
             } else if (selectedAlgo.equals("Recursive Largest First")) {
-                conflicts = Coloring.recursiveLargestFirst(graph, kmax);
+                conflicts = colorWithCache(ColoringAlgorithm.RECURSIVE_LARGEST_FIRST, kmax);
+            } else if (selectedAlgo.equals("Jones-Plassmann")) {
+                conflicts = colorWithCache(ColoringAlgorithm.JONES_PLASSMANN, kmax);
+            } else if (selectedAlgo.equals("Smallest Last")) {
+                conflicts = colorWithCache(ColoringAlgorithm.SMALLEST_LAST, kmax);
+            } else if (selectedAlgo.equals("Tabucol")) {
+                // Improves the current coloring of the graph if there is one, brought to the new kmax first
+                if (alreadyColored && kmax != coloredKmax) {
+                    Coloring.recolor(graph, kmax);
+                }
+                conflicts = Coloring.tabucol(graph, kmax, TABUCOL_TIME_BUDGET_MILLIS);
+            } else if (selectedAlgo.equals("Hybrid Evolutionary")) {
+                conflicts = Coloring.hybridEvolution(graph, kmax, HYBRID_EVOLUTION_POPULATION_SIZE, HYBRID_EVOLUTION_TIME_BUDGET_MILLIS, 0);
+            }
+            coloredGraph = graph;
+            coloredAlgo = selectedAlgo;
+            coloredKmax = kmax;
+
+            // Met à jour les couleurs du graphe s'il est déjà affiché
+            if (SideBar.viewer != null) {
+                GraphStyleUtil.applyStyles(graph);
             }
 
             // Display the result of the calculation
             JOptionPane.showMessageDialog(null, "Calcul en cours", "Lancement des algorithmes de colorations", JOptionPane.INFORMATION_MESSAGE);
             graph.setAttribute("conflictsCount", conflicts);
+            int lowerBound = Coloring.conflictLowerBound(graph, kmax);
 
             if (conflicts == 0) {
                 StatisticsPanel.stat_text.setForeground(Color.GREEN);
                 StatisticsPanel.stat_text.setText("Il n'y a pas de conflit lors de la coloration");
+            } else if (conflicts == lowerBound) {
+                StatisticsPanel.stat_text.setForeground(new Color(215, 0, 0));
+                StatisticsPanel.stat_text.setText("Il y a " + conflicts + " conflits lors de la coloration, le minimum possible avec ce K-max \n augmentez le K-max pour trouver une solution sans conflits");
             } else {
                 StatisticsPanel.stat_text.setForeground(new Color(215, 0, 0));
-                StatisticsPanel.stat_text.setText("Il y a " + conflicts + " conflits lors de la coloration \n augmentez le K-max pour trouver une solution sans conflits");
+                StatisticsPanel.stat_text.setText("Il y a " + conflicts + " conflits lors de la coloration (au moins " + lowerBound + " inévitables) \n augmentez le K-max pour trouver une solution sans conflits");
             }
 
             System.out.println("calcul en cours");
@@ -140,6 +187,19 @@ public class FileChoicePanel extends JPanel {
         this.add(fileSelectionPanel);
     }
 
+    /**
+     * Colors the graph with a constructive algorithm, reusing its coloring if it was already computed.
+     *
+     * @param algorithm the algorithm to apply
+     * @param kmax      the maximum number of colors to use
+     * @return the total number of conflicts after coloring
+     */
+    private static int colorWithCache(ColoringAlgorithm algorithm, int kmax) {
+        ColoringResult result = COLORING_CACHE.computeColoring(graph, kmax, algorithm);
+        result.applyTo(graph);
+        return result.getConflicts();
+    }
+
     /**
      * Updates the statistics table with the graph data.
      *
@@ -37,6 +37,10 @@ public class SettingsPanel extends JPanel {
         algo_chooser.addItem("Welsh-Powell");
         algo_chooser.addItem("DSATUR");
         algo_chooser.addItem("Recursive Largest First");
+        algo_chooser.addItem("Jones-Plassmann");
+        algo_chooser.addItem("Smallest Last");
+        algo_chooser.addItem("Tabucol");
+        algo_chooser.addItem("Hybrid Evolutionary");
 
         // JSpinner for selecting the maximum number of colors (kmax)
         JLabel kmax_label = new JLabel("K-max");
@@ -2,6 +2,7 @@ package fr.univlyon1.flightmaster.app;
 
 import fr.univlyon1.flightmaster.lib.IO.IOService;
 import fr.univlyon1.flightmaster.lib.Utils.ChallengeUtil;
+import fr.univlyon1.flightmaster.lib.Utils.GraphStyleUtil;
 import org.graphstream.ui.view.View;
 import org.graphstream.ui.view.Viewer;
 import org.graphstream.ui.view.camera.Camera;
@@ -59,6 +60,8 @@ public class SideBar extends JPanel {
                         viewer.close(); // Fermer la fenêtre précédente si elle existe
                     }
 
+                    // Les styles ne sont calculés qu'à l'affichage
+                    GraphStyleUtil.applyStyles(FileChoicePanel.graph);
                     viewer = FileChoicePanel.graph.display();
                     viewer.setCloseFramePolicy(CLOSE_VIEWER);
                     View view = viewer.getDefaultView();
@@ -0,0 +1,294 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.Arrays;
+
+/**
+ * Exact minimum-conflict coloring by branch and bound with DSATUR branching, run on each small connected component.
+ * Each level colors the uncolored node that is the most constrained: the one whose cheapest color already costs
+ * the most conflicts, then the one whose neighbors use the most distinct colors. Its colors are tried from the
+ * cheapest, a single new color being tried to break the symmetry between unused colors.
+ * An uncolored node costs at least the conflicts of its cheapest color with its colored neighbors, and these edges
+ * are distinct from one node to another, so the sum of these costs plus the conflicts so far bounds any completion
+ * from below. The number of neighbors of each node in each color is kept along with the number of distinct colors
+ * they use, so the bound is updated in O(deg) per node colored, plus O(kmax) for the neighbors that have seen every
+ * color, the others still having a free color.
+ * The search is depth-first with an explicit stack, so its depth is not limited by the stack of the thread, and the
+ * components of more than MAX_COMPONENT_SIZE nodes keep the colors of the incumbent.
+ */
+final class BranchAndBound {
+
+    /**
+     * Number of nodes above which a component is not searched.
+     */
+    static final int MAX_COMPONENT_SIZE = 256;
+
+    private final CompactGraph graph;
+    private final int kmax;
+    private final long deadlineNanos;
+    private final int floor;
+    private final ColoringMonitor monitor;
+
+    private final int[] colors;
+    private final int[] counts;
+    private final int[] saturation;
+    private final int[] minCost;
+
+    /**
+     * Uncolored nodes, the nodes colored by the levels of the stack being kept after them in the reverse order.
+     */
+    private final int[] uncolored;
+    private final int[] positions;
+    private int uncoloredCount;
+
+    /**
+     * Node, highest color used before it, next candidate and number of candidates of each level of the stack.
+     */
+    private final int[] levelNodes;
+    private final int[] levelUsedColors;
+    private final int[] levelNext;
+    private final int[] levelCandidateCounts;
+    private final int[] candidates;
+
+    private final int[] best;
+    private int bestConflicts;
+    private int conflicts;
+    private int lowerBound;
+    private long searchNodes;
+    private boolean aborted;
+
+    private BranchAndBound(CompactGraph graph, int kmax, long deadlineNanos, int floor, int[] incumbent, int incumbentConflicts,
+                           ColoringMonitor monitor) {
+        int nodeCount = graph.getNodeCount();
+        this.monitor = monitor;
+        this.graph = graph;
+        this.kmax = kmax;
+        this.deadlineNanos = deadlineNanos;
+        this.floor = floor;
+        colors = new int[nodeCount];
+        Arrays.fill(colors, -1);
+        counts = new int[nodeCount * kmax];
+        saturation = new int[nodeCount];
+        minCost = new int[nodeCount];
+        uncolored = new int[nodeCount];
+        positions = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            uncolored[node] = node;
+            positions[node] = node;
+        }
+        uncoloredCount = nodeCount;
+        levelNodes = new int[nodeCount];
+        levelUsedColors = new int[nodeCount];
+        levelNext = new int[nodeCount];
+        levelCandidateCounts = new int[nodeCount];
+        candidates = new int[nodeCount * kmax];
+        best = incumbent;
+        bestConflicts = incumbentConflicts;
+    }
+
+    /**
+     * Searches for a coloring with fewer conflicts than the incumbent on each connected component of at most
+     * MAX_COMPONENT_SIZE nodes having conflicts, until the search space is exhausted or the deadline is reached.
+     * The colors array is updated in place with the best coloring found.
+     *
+     * @param graph         the compact graph to color
+     * @param colors        a complete coloring used as incumbent, between 1 and kmax
+     * @param conflicts     the number of conflicts of the incumbent
+     * @param kmax          the maximum number of colors to use
+     * @param deadlineNanos the System.nanoTime() value at which the search stops
+     * @param monitor       the monitor of the run, the search stopping like at the deadline when it is cancelled
+     * @return the best coloring found, marked as optimal if the search space of every component was exhausted
+     */
+    static ColoringResult solve(CompactGraph graph, int[] colors, int conflicts, int kmax, long deadlineNanos,
+                                ColoringMonitor monitor) {
+        boolean optimal = true;
+        long searchNodes = 0;
+        int[] localIndices = new int[graph.getNodeCount()];
+        for (int[] component : ComponentColoring.components(graph)) {
+            int componentConflicts = countConflicts(graph, component, colors);
+            if (componentConflicts == 0) {
+                continue;
+            }
+            if (component.length > MAX_COMPONENT_SIZE || !Tabucol.fits(component.length, kmax)
+                    || System.nanoTime() - deadlineNanos >= 0 || monitor.isStopped()) {
+                optimal = false;
+                continue;
+            }
+
+            CompactGraph subgraph = graph.induced(component, localIndices);
+            int[] incumbent = new int[component.length];
+            for (int i = 0; i < component.length; i++) {
+                incumbent[i] = colors[component[i]];
+            }
+            int floor = CliqueBound.lowerBound(subgraph, kmax);
+            if (componentConflicts <= floor) {
+                continue;
+            }
+            BranchAndBound search = new BranchAndBound(subgraph, kmax, deadlineNanos, floor, incumbent, componentConflicts, monitor);
+            search.search();
+            for (int i = 0; i < component.length; i++) {
+                colors[component[i]] = search.best[i];
+            }
+            conflicts += search.bestConflicts - componentConflicts;
+            searchNodes += search.searchNodes;
+            optimal &= !search.aborted;
+        }
+        return new ColoringResult(colors, conflicts, null, 0, optimal, searchNodes);
+    }
+
+    /**
+     * Counts the conflicting edges of a connected component.
+     */
+    private static int countConflicts(CompactGraph graph, int[] component, int[] colors) {
+        int conflicts = 0;
+        for (int node : component) {
+            for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+                int neighbor = graph.neighbors[i];
+                if (neighbor > node && colors[neighbor] == colors[node]) {
+                    conflicts++;
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Explores the colorings of the component, each level of the stack trying the candidate colors of its node in
+     * turn and opening the next level for each of them.
+     */
+    private void search() {
+        if (!open(0, 0)) {
+            return;
+        }
+        int depth = 0;
+        while (depth >= 0) {
+            int node = levelNodes[depth];
+            int base = depth * kmax;
+            if (levelNext[depth] > 0) {
+                unassign(node, candidates[base + levelNext[depth] - 1]);
+            }
+            if (aborted || levelNext[depth] == levelCandidateCounts[depth]) {
+                // The node is the last one taken out of the uncolored nodes, so it is put back last
+                uncoloredCount++;
+                depth--;
+                continue;
+            }
+            int color = candidates[base + levelNext[depth]++];
+            assign(node, color);
+            if (open(depth + 1, Math.max(levelUsedColors[depth], color))) {
+                depth++;
+            }
+        }
+    }
+
+    /**
+     * Opens the level of the given depth on the most constrained uncolored node, the colors 1 to usedColors being
+     * already used, unless the branch is cut or every node is colored.
+     *
+     * @return true if the level was opened
+     */
+    private boolean open(int depth, int usedColors) {
+        if (aborted || bestConflicts <= floor || conflicts + lowerBound >= bestConflicts) {
+            return false;
+        }
+        if (ColoringMonitor.isCheckpoint(++searchNodes)
+                && (System.nanoTime() - deadlineNanos >= 0 || monitor.checkpoint(depth, bestConflicts))) {
+            aborted = true;
+            return false;
+        }
+        int node = selectNode();
+        if (node == -1) {
+            bestConflicts = conflicts;
+            System.arraycopy(colors, 0, best, 0, colors.length);
+            return false;
+        }
+
+        // Take the node out of the uncolored nodes, in last position
+        int last = uncolored[--uncoloredCount];
+        uncolored[positions[node]] = last;
+        positions[last] = positions[node];
+        uncolored[uncoloredCount] = node;
+        positions[node] = uncoloredCount;
+
+        // Try the used colors from the cheapest, then a single new color
+        int candidateCount = 0;
+        int base = depth * kmax;
+        int row = node * kmax;
+        for (int color = 1; color <= Math.min(usedColors + 1, kmax); color++) {
+            int cost = counts[row + color - 1];
+            int j = candidateCount++;
+            while (j > 0 && counts[row + candidates[base + j - 1] - 1] > cost) {
+                candidates[base + j] = candidates[base + j - 1];
+                j--;
+            }
+            candidates[base + j] = color;
+        }
+        levelNodes[depth] = node;
+        levelUsedColors[depth] = usedColors;
+        levelNext[depth] = 0;
+        levelCandidateCounts[depth] = candidateCount;
+        return true;
+    }
+
+    /**
+     * Returns the uncolored node with the highest minimum cost, then the highest saturation, then the highest degree,
+     * then the lowest index, or -1 if every node is colored.
+     */
+    private int selectNode() {
+        int selected = -1;
+        for (int i = 0; i < uncoloredCount; i++) {
+            int node = uncolored[i];
+            if (selected == -1 || minCost[node] > minCost[selected]
+                    || (minCost[node] == minCost[selected] && (saturation[node] > saturation[selected]
+                    || (saturation[node] == saturation[selected] && (graph.degrees[node] > graph.degrees[selected]
+                    || (graph.degrees[node] == graph.degrees[selected] && node < selected)))))) {
+                selected = node;
+            }
+        }
+        return selected;
+    }
+
+    private void assign(int node, int color) {
+        colors[node] = color;
+        conflicts += counts[node * kmax + color - 1];
+        lowerBound -= minCost[node];
+        for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+            int neighbor = graph.neighbors[i];
+            if (counts[neighbor * kmax + color - 1]++ == 0) {
+                saturation[neighbor]++;
+            }
+            updateMinCost(neighbor);
+        }
+    }
+
+    private void unassign(int node, int color) {
+        for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+            int neighbor = graph.neighbors[i];
+            if (--counts[neighbor * kmax + color - 1] == 0) {
+                saturation[neighbor]--;
+            }
+            updateMinCost(neighbor);
+        }
+        lowerBound += minCost[node];
+        conflicts -= counts[node * kmax + color - 1];
+        colors[node] = -1;
+    }
+
+    /**
+     * Recomputes the cost of the cheapest color of an uncolored node and its share of the lower bound.
+     * A node with a free color costs nothing, so the counts are only scanned once all its colors are used.
+     */
+    private void updateMinCost(int node) {
+        if (colors[node] != -1) {
+            return;
+        }
+        int cost = 0;
+        if (saturation[node] == kmax) {
+            cost = Integer.MAX_VALUE;
+            for (int c = 0; c < kmax; c++) {
+                cost = Math.min(cost, counts[node * kmax + c]);
+            }
+        }
+        lowerBound += cost - minCost[node];
+        minCost[node] = cost;
+    }
+}
@@ -0,0 +1,80 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+/**
+ * Token through which a running coloring algorithm is asked to stop, either explicitly or once a deadline is passed.
+ * The algorithms check it at regular intervals, along with the interrupted status of their thread, and then return
+ * the best coloring they have, the nodes they did not reach getting their least conflicting color.
+ * A token can be shared by several algorithms and cancelled from any thread, and a token created from a parent one is
+ * also cancelled with its parent.
+ */
+public class CancellationToken {
+
+    private final CancellationToken parent;
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a token that is only cancelled by calling cancel.
+     */
+    public CancellationToken() {
+        this((CancellationToken) null);
+    }
+
+    /**
+     * Creates a token that is cancelled by calling cancel or when its parent is.
+     *
+     * @param parent the token whose cancellation also cancels this one, or null
+     */
+    public CancellationToken(CancellationToken parent) {
+        this.parent = parent;
+        this.deadlineNanos = 0;
+        this.hasDeadline = false;
+    }
+
+    /**
+     * Creates a token that is cancelled by calling cancel or once the given time has elapsed.
+     *
+     * @param timeoutMillis the time after which the token is cancelled, in milliseconds
+     */
+    public CancellationToken(long timeoutMillis) {
+        this(null, timeoutMillis);
+    }
+
+    /**
+     * Creates a token that is cancelled by calling cancel, once the given time has elapsed or when its parent is.
+     *
+     * @param parent        the token whose cancellation also cancels this one, or null
+     * @param timeoutMillis the time after which the token is cancelled, in milliseconds
+     */
+    public CancellationToken(CancellationToken parent, long timeoutMillis) {
+        this.parent = parent;
+        this.deadlineNanos = System.nanoTime() + timeoutMillis * 1_000_000L;
+        this.hasDeadline = true;
+    }
+
+    /**
+     * Asks the algorithms using this token to stop.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns whether cancel was called on this token, whatever its deadline and its parent.
+     *
+     * @return true if the token itself was cancelled
+     */
+    public boolean isCancelRequested() {
+        return cancelled;
+    }
+
+    /**
+     * Returns whether the token or its parent was cancelled or its deadline is passed.
+     *
+     * @return true if the algorithms using this token must stop
+     */
+    public boolean isCancelled() {
+        return cancelled || (hasDeadline && System.nanoTime() - deadlineNanos >= 0) || (parent != null && parent.isCancelled());
+    }
+}
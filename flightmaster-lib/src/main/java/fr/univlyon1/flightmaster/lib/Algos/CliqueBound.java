@@ -0,0 +1,229 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Lower bound on the number of conflicts of any kmax-coloring, from disjoint cliques of more than kmax nodes.
+ * A clique of q = a * kmax + b nodes, with b lower than kmax, has at least b * C(a + 1, 2) + (kmax - b) * C(a, 2)
+ * conflicting edges whatever the coloring, its nodes being spread at best evenly over the colors, and disjoint
+ * cliques have disjoint edges so their bounds add up.
+ * The cliques are searched on the smallest-last ordering: every clique is made of its first node and some of the
+ * at most degeneracy neighbors that come after it, which are searched as bitsets, greedily first, then by a branch
+ * and bound cut after a fixed number of steps.
+ */
+final class CliqueBound {
+
+    /**
+     * Maximum number of steps of the branch and bound run from each node.
+     */
+    private static final int SEARCH_BUDGET = 2_000;
+
+    private int steps;
+
+    private CliqueBound() {
+    }
+
+    /**
+     * Returns the minimum number of conflicts that a clique of the given size has in any kmax-coloring.
+     *
+     * @param size the number of nodes of the clique
+     * @param kmax the maximum number of colors
+     * @return the minimum number of conflicting edges of the clique
+     */
+    static long cliqueConflicts(int size, int kmax) {
+        long a = size / kmax;
+        long b = size % kmax;
+        return b * (a + 1) * a / 2 + (kmax - b) * a * (a - 1) / 2;
+    }
+
+    /**
+     * Computes a lower bound on the number of conflicts of any coloring of a compact graph with kmax colors.
+     *
+     * @param graph the compact graph
+     * @param kmax  the maximum number of colors
+     * @return the lower bound, 0 when no clique of more than kmax nodes was found
+     */
+    static int lowerBound(CompactGraph graph, int kmax) {
+        CompactGraph simple = graph.simplified();
+        CoreDecomposition cores = CoreDecomposition.of(simple);
+        int nodeCount = simple.getNodeCount();
+        int[] coreNumbers = cores.getCoreNumbers();
+        int[] order = cores.getRemovalOrder();
+        int[] positions = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            positions[order[i]] = i;
+        }
+
+        // The nodes of a clique of more than kmax nodes all have a core number of at least kmax
+        CliqueBound search = new CliqueBound();
+        int[] localIndices = new int[nodeCount];
+        Arrays.fill(localIndices, -1);
+        int[] candidates = new int[cores.getDegeneracy()];
+        List<int[]> cliques = new ArrayList<>();
+        for (int node = 0; node < nodeCount; node++) {
+            if (coreNumbers[node] < kmax) {
+                continue;
+            }
+            int candidateCount = 0;
+            for (int i = simple.offsets[node]; i < simple.offsets[node + 1]; i++) {
+                int neighbor = simple.neighbors[i];
+                if (positions[neighbor] > positions[node] && coreNumbers[neighbor] >= kmax) {
+                    candidates[candidateCount++] = neighbor;
+                }
+            }
+            if (candidateCount >= kmax) {
+                int[] clique = search.largestClique(simple, node, candidates, candidateCount, localIndices);
+                if (clique.length > kmax) {
+                    cliques.add(clique);
+                }
+            }
+        }
+
+        // Pack the largest cliques first, a clique overlapping the packed ones still counting for its free nodes
+        cliques.sort(Comparator.comparingInt((int[] clique) -> clique.length).reversed());
+        boolean[] packed = new boolean[nodeCount];
+        long bound = 0;
+        for (int[] clique : cliques) {
+            int size = 0;
+            for (int node : clique) {
+                if (!packed[node]) {
+                    size++;
+                }
+            }
+            if (size > kmax) {
+                for (int node : clique) {
+                    packed[node] = true;
+                }
+                bound += cliqueConflicts(size, kmax);
+            }
+        }
+        return (int) Math.min(bound, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Searches the largest clique made of a node and some of the given candidates, all adjacent to the node.
+     *
+     * @return the nodes of the largest clique found
+     */
+    private int[] largestClique(CompactGraph graph, int node, int[] candidates, int candidateCount, int[] localIndices) {
+        int words = (candidateCount + 63) >>> 6;
+        long[] adjacency = new long[candidateCount * words];
+        for (int j = 0; j < candidateCount; j++) {
+            localIndices[candidates[j]] = j;
+        }
+        for (int j = 0; j < candidateCount; j++) {
+            int candidate = candidates[j];
+            for (int i = graph.offsets[candidate]; i < graph.offsets[candidate + 1]; i++) {
+                int local = localIndices[graph.neighbors[i]];
+                if (local != -1) {
+                    adjacency[j * words + (local >>> 6)] |= 1L << local;
+                }
+            }
+        }
+        for (int j = 0; j < candidateCount; j++) {
+            localIndices[candidates[j]] = -1;
+        }
+
+        long[] all = new long[words];
+        for (int j = 0; j < candidateCount; j++) {
+            all[j >>> 6] |= 1L << j;
+        }
+        long[] best = greedyClique(adjacency, words, all);
+        steps = 0;
+        best = expand(adjacency, words, new long[words], 0, all, best);
+
+        int[] clique = new int[bitCount(best) + 1];
+        clique[0] = node;
+        int size = 1;
+        for (int j = 0; j < candidateCount; j++) {
+            if ((best[j >>> 6] & (1L << j)) != 0) {
+                clique[size++] = candidates[j];
+            }
+        }
+        return clique;
+    }
+
+    /**
+     * Grows a clique by always adding the candidate adjacent to the most remaining candidates.
+     */
+    private static long[] greedyClique(long[] adjacency, int words, long[] candidates) {
+        long[] clique = new long[words];
+        long[] remaining = candidates.clone();
+        while (bitCount(remaining) > 0) {
+            int selected = -1;
+            int selectedCount = -1;
+            for (int j = nextBit(remaining, 0); j != -1; j = nextBit(remaining, j + 1)) {
+                int count = 0;
+                for (int w = 0; w < words; w++) {
+                    count += Long.bitCount(adjacency[j * words + w] & remaining[w]);
+                }
+                if (count > selectedCount) {
+                    selected = j;
+                    selectedCount = count;
+                }
+            }
+            clique[selected >>> 6] |= 1L << selected;
+            for (int w = 0; w < words; w++) {
+                remaining[w] &= adjacency[selected * words + w];
+            }
+        }
+        return clique;
+    }
+
+    /**
+     * Branch and bound over the cliques extending the current one with some of the candidates,
+     * stopped once the step budget is spent.
+     *
+     * @return the largest clique known after the search
+     */
+    private long[] expand(long[] adjacency, int words, long[] clique, int cliqueSize, long[] candidates, long[] best) {
+        int candidateCount = bitCount(candidates);
+        if (candidateCount == 0) {
+            return cliqueSize > bitCount(best) ? clique.clone() : best;
+        }
+        long[] remaining = candidates.clone();
+        for (int j = nextBit(remaining, 0); j != -1; j = nextBit(remaining, j + 1)) {
+            if (cliqueSize + bitCount(remaining) <= bitCount(best) || ++steps > SEARCH_BUDGET) {
+                break;
+            }
+            long[] next = new long[words];
+            for (int w = 0; w < words; w++) {
+                next[w] = remaining[w] & adjacency[j * words + w];
+            }
+            clique[j >>> 6] |= 1L << j;
+            best = expand(adjacency, words, clique, cliqueSize + 1, next, best);
+            clique[j >>> 6] &= ~(1L << j);
+            remaining[j >>> 6] &= ~(1L << j);
+        }
+        return best;
+    }
+
+    private static int bitCount(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the index of the first set bit from the given index, or -1 if there is none.
+     */
+    private static int nextBit(long[] bits, int from) {
+        int w = from >>> 6;
+        if (w >= bits.length) {
+            return -1;
+        }
+        long word = bits[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == bits.length) {
+                return -1;
+            }
+            word = bits[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+}
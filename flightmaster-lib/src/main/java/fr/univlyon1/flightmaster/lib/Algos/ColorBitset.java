@@ -0,0 +1,44 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+/**
+ * Helpers for the color bitsets used by the coloring engines, where bit c of a bitset is set when color c is used.
+ * Several bitsets can be packed in a single long array, each one spanning words(kmax) consecutive words.
+ */
+final class ColorBitset {
+
+    private ColorBitset() {
+    }
+
+    /**
+     * Returns the number of words needed to hold the colors 1 to kmax.
+     *
+     * @param kmax the maximum number of colors
+     * @return the number of words of a bitset
+     */
+    static int words(int kmax) {
+        return (kmax >>> 6) + 1;
+    }
+
+    /**
+     * Finds the smallest color between 1 and kmax that is not set in a bitset.
+     *
+     * @param bits   the array holding the bitset
+     * @param offset the first word of the bitset
+     * @param words  the number of words of the bitset
+     * @param kmax   the maximum number of colors
+     * @return the smallest free color, or -1 if all colors are used
+     */
+    static int firstFreeColor(long[] bits, int offset, int words, int kmax) {
+        for (int w = 0; w < words; w++) {
+            long free = ~bits[offset + w];
+            if (w == 0) {
+                free &= ~1L; // color 0 is never used
+            }
+            if (free != 0) {
+                int colorIndex = (w << 6) + Long.numberOfTrailingZeros(free);
+                return colorIndex <= kmax ? colorIndex : -1;
+            }
+        }
+        return -1;
+    }
+}
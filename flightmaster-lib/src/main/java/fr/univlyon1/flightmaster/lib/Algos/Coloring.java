@@ -1,36 +1,26 @@
 package fr.univlyon1.flightmaster.lib.Algos;
 
-import org.graphstream.algorithm.Toolkit;
 import org.graphstream.graph.Edge;
 import org.graphstream.graph.Graph;
 import org.graphstream.graph.Node;
 
-import java.awt.*;
 import java.util.*;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Package containing the different coloring algorithms implementations used by flightmaster,
- * such as WelshPowell, DSATUR, and recursiveLargestFirst.
+ * such as WelshPowell, DSATUR, recursiveLargestFirst, the parallel Jones-Plassmann, a kernel reduction and a
+ * per-component decomposition, an exact solver for small graphs, their parallel multi-start portfolio, the Tabucol
+ * local search and a hybrid evolutionary algorithm built on it.
+ * The methods taking a CompactGraph only read it and keep their colors in their own arrays, so that one compact graph
+ * can be shared by runs on several threads; their colorings are written to the source graph with applyTo if needed.
  */
 public class Coloring {
 
     /**
-     * Generates uniformly distributed color palette based on the maximum number of colors.
-     *
-     * @param kmax the maximum number of colors to generate
-     * @return an array of color codes in hexadecimal format
+     * Maximum number of cells of the conflict table used to color the nodes left over by the algorithms.
      */
-    private static String[] generateColorPalette(int kmax) {
-        String[] colors = new String[kmax];
-        for (int i = 0; i < kmax; i++) {
-            float hue = (float) i / kmax;
-            Color color = Color.getHSBColor(hue, 0.75f, 0.75f);
-            colors[i] = String.format("#%02X%02X%02X", color.getRed(), color.getGreen(), color.getBlue());
-        }
-        return colors;
-    }
+    private static final long MAX_CONFLICT_TABLE_SIZE = 1L << 24;
 
     /**
      * Applies the Welsh-Powell graph coloring algorithm to the specified graph, with its default kmax value.
@@ -46,40 +36,15 @@ public class Coloring {
     /**
      * Applies the Welsh-Powell graph coloring algorithm to the specified graph
      * with a custom maximum number of colors (kmax).
+     * All the nodes are colored in one pass by decreasing degree, which gives the same color classes
+     * as sweeping the ordering once per color.
      *
      * @param graph the graph to be colored
      * @param kmax  the maximum number of colors to use
      * @return the total number of conflicts after coloring
      */
     public static int welshPowell(Graph graph, int kmax) {
-        String[] colors = generateColorPalette(kmax);
-
-        List<Node> nodes = Toolkit.degreeMap(graph);
-        for (Node node : graph) {
-            node.setAttribute("color", -1);
-            node.setAttribute("ui.style", "fill-color: gray;");
-        }
-
-        // Attempt to color the nodes within the kmax limit
-        for (int colorIndex = 1; colorIndex <= kmax; colorIndex++) {
-            for (Node node : nodes) {
-                if ((int) node.getAttribute("color") == -1) {
-                    boolean isColorAvailable = true;
-                    for (Node neighbor : node.neighborNodes().toList()) {
-                        if ((int) neighbor.getAttribute("color") == colorIndex) {
-                            isColorAvailable = false;
-                            break;
-                        }
-                    }
-                    if (isColorAvailable) {
-                        node.setAttribute("color", colorIndex);
-                        node.setAttribute("ui.style", "fill-color: " + colors[colorIndex - 1] + ";");
-                    }
-                }
-            }
-        }
-
-        return colorizeUncoloredNodesWithMinConflicts(nodes, kmax, colors);
+        return color(graph, kmax, ColoringAlgorithm.WELSH_POWELL);
     }
 
     /**
@@ -113,76 +78,15 @@ public class Coloring {
     /**
      * Applies the DSATUR graph coloring algorithm to the specified graph
      * with a custom maximum number of colors (kmax).
+     * Saturation degrees are updated incrementally, and nodes with the same saturation and degree
+     * are colored in decreasing index order.
      *
      * @param graph the graph to be colored
      * @param kmax  the maximum number of colors to use
      * @return the total number of conflicts after coloring
      */
     public static int DSATUR(Graph graph, int kmax) {
-        String[] colors = generateColorPalette(kmax);
-
-        // Set all node colors to -1 (uncolored)
-        for (Node node : graph) {
-            node.setAttribute("color", -1);
-        }
-
-        PriorityQueue<Node> queue = new PriorityQueue<>((n1, n2) -> {
-            int satDeg1 = getSaturationDegree(n1);
-            int satDeg2 = getSaturationDegree(n2);
-            if (satDeg1 != satDeg2) {
-                return Integer.compare(satDeg2, satDeg1); // Higher saturation degree first
-            }
-            int deg1 = n1.getDegree();
-            int deg2 = n2.getDegree();
-            return Integer.compare(deg2, deg1); // Higher degree first otherwise
-        });
-
-        for (Node node : graph) {
-            queue.add(node);
-        }
-
-        while (!queue.isEmpty()) {
-            Node node = queue.poll();
-            Set<Integer> usedColors = new HashSet<>();
-            for (Edge edge : node) {
-                Node adjacent = edge.getOpposite(node);
-                int color = (int) adjacent.getAttribute("color");
-                if (color != -1) {
-                    usedColors.add(color);
-                }
-            }
-
-            // Find the first unused color that does not exceed kmax
-            int colorIndex = 1;
-            while (usedColors.contains(colorIndex) && colorIndex <= kmax) {
-                colorIndex++;
-            }
-
-            // Set node color if a valid color is found
-            if (colorIndex <= kmax) {
-                node.setAttribute("color", colorIndex);
-                node.setAttribute("ui.style", "fill-color: " + colors[colorIndex - 1] + ";");
-
-                // Update the priority queue
-                PriorityQueue<Node> updatedQueue = new PriorityQueue<>((n1, n2) -> {
-                    int satDeg1 = getSaturationDegree(n1);
-                    int satDeg2 = getSaturationDegree(n2);
-                    if (satDeg1 != satDeg2) {
-                        return Integer.compare(satDeg2, satDeg1); // Higher saturation degree first
-                    }
-                    int deg1 = n1.getDegree();
-                    int deg2 = n2.getDegree();
-                    return Integer.compare(deg2, deg1); // Higher degree first otherwise
-                });
-
-                updatedQueue.addAll(queue);
-
-                queue = updatedQueue;
-            }
-        }
-
-        // Assign colors to remaining uncolored nodes (if any) to minimize conflicts
-        return colorizeUncoloredNodesWithMinConflicts(graph.nodes().toList(), kmax, colors);
+        return color(graph, kmax, ColoringAlgorithm.DSATUR);
     }
 
     /**
@@ -199,118 +103,735 @@ public class Coloring {
     /**
      * Applies the recursive Largest-First graph coloring algorithm to the specified graph
      * with a custom maximum number of colors (kmax).
+     * Each color class is grown by taking the candidate with the most neighbors already excluded from the class.
      *
      * @param graph the graph to be colored
      * @param kmax  the maximum number of colors to use
      * @return the total number of conflicts after coloring
      */
     public static int recursiveLargestFirst(Graph graph, int kmax) {
-        String[] colors = generateColorPalette(kmax);
-        for (Node node : graph) {
-            node.setAttribute("color", -1);
+        return color(graph, kmax, ColoringAlgorithm.RECURSIVE_LARGEST_FIRST);
+    }
+
+    /**
+     * Applies the Jones-Plassmann parallel graph coloring algorithm to the specified graph.
+     * Colors nodes using the generated color palette and minimizes conflicts.
+     * Equivalent to calling jonesPlassmann(graph, (int) graph.getAttribute("kmax")).
+     * @param graph the graph to be colored
+     * @return the total number of conflicts after coloring
+     */
+    public static int jonesPlassmann(Graph graph) {
+        return jonesPlassmann(graph, (int) graph.getAttribute("kmax"));
+    }
+
+    /**
+     * Applies the Jones-Plassmann parallel graph coloring algorithm to the specified graph
+     * with a custom maximum number of colors (kmax).
+     * The nodes whose degree is higher than the one of all their uncolored neighbors, ties being broken by a random
+     * rank drawn from a fixed seed, are colored together in parallel rounds, on as many threads as there are
+     * processors.
+     * The coloring does not depend on the number of threads.
+     *
+     * @param graph the graph to be colored
+     * @param kmax  the maximum number of colors to use
+     * @return the total number of conflicts after coloring
+     */
+    public static int jonesPlassmann(Graph graph, int kmax) {
+        return color(graph, kmax, ColoringAlgorithm.JONES_PLASSMANN);
+    }
+
+    /**
+     * Applies the smallest-last graph coloring algorithm to the specified graph.
+     * Colors nodes using the generated color palette and minimizes conflicts.
+     * Equivalent to calling smallestLast(graph, (int) graph.getAttribute("kmax")).
+     * @param graph the graph to be colored
+     * @return the total number of conflicts after coloring
+     */
+    public static int smallestLast(Graph graph) {
+        return smallestLast(graph, (int) graph.getAttribute("kmax"));
+    }
+
+    /**
+     * Applies the smallest-last graph coloring algorithm to the specified graph
+     * with a custom maximum number of colors (kmax).
+     * The nodes are colored greedily in the reverse of the degeneracy ordering given by an O(n + m) core
+     * decomposition, which needs at most degeneracy + 1 colors and often fewer than Welsh-Powell on sparse graphs.
+     *
+     * @param graph the graph to be colored
+     * @param kmax  the maximum number of colors to use
+     * @return the total number of conflicts after coloring
+     */
+    public static int smallestLast(Graph graph, int kmax) {
+        return color(graph, kmax, ColoringAlgorithm.SMALLEST_LAST);
+    }
+
+    /**
+     * Applies the given constructive coloring algorithm to the specified graph
+     * with a custom maximum number of colors (kmax).
+     *
+     * @param graph     the graph to be colored
+     * @param kmax      the maximum number of colors to use
+     * @param algorithm the algorithm to apply
+     * @return the total number of conflicts after coloring
+     */
+    public static int color(Graph graph, int kmax, ColoringAlgorithm algorithm) {
+        ColoringResult result = computeColoring(graph, kmax, algorithm);
+        result.applyTo(graph);
+        return result.getConflicts();
+    }
+
+    /**
+     * Computes the coloring of the specified graph given by a constructive algorithm,
+     * without writing it to the graph.
+     *
+     * @param graph     the graph to color
+     * @param kmax      the maximum number of colors to use
+     * @param algorithm the algorithm to apply
+     * @return the coloring, to be written to the graph with applyTo if needed
+     */
+    public static ColoringResult computeColoring(Graph graph, int kmax, ColoringAlgorithm algorithm) {
+        return computeColoring(graph, kmax, algorithm, null, null);
+    }
+
+    /**
+     * Computes the coloring of the specified graph given by a constructive algorithm, without writing it to the graph,
+     * until the token is cancelled. The nodes not reached by then get their least conflicting color.
+     *
+     * @param graph     the graph to color
+     * @param kmax      the maximum number of colors to use
+     * @param algorithm the algorithm to apply
+     * @param token     the token stopping the algorithm, or null
+     * @param listener  the listener of its progress, or null
+     * @return the coloring, to be written to the graph with applyTo if needed
+     */
+    public static ColoringResult computeColoring(Graph graph, int kmax, ColoringAlgorithm algorithm,
+                                                 CancellationToken token, ColoringListener listener) {
+        return computeColoring(CompactGraph.of(graph), kmax, algorithm, token, listener);
+    }
+
+    /**
+     * Computes the coloring of a compact graph given by a constructive algorithm, as computeColoring does.
+     *
+     * @param graph     the compact graph to color
+     * @param kmax      the maximum number of colors to use
+     * @param algorithm the algorithm to apply
+     * @param token     the token stopping the algorithm, or null
+     * @param listener  the listener of its progress, or null
+     * @return the coloring
+     */
+    public static ColoringResult computeColoring(CompactGraph graph, int kmax, ColoringAlgorithm algorithm,
+                                                 CancellationToken token, ColoringListener listener) {
+        return computeColoring(graph, kmax, algorithm, Runtime.getRuntime().availableProcessors(), token, listener);
+    }
+
+    /**
+     * Computes the coloring of a compact graph given by a constructive algorithm, the parallel Jones-Plassmann
+     * using the given number of threads, a single one running it on the calling thread.
+     *
+     * @param graph     the compact graph to color
+     * @param kmax      the maximum number of colors to use
+     * @param algorithm the algorithm to apply
+     * @param threads   the number of threads of the parallel algorithms
+     * @param token     the token stopping the algorithm, or null
+     * @param listener  the listener of its progress, or null
+     * @return the coloring
+     */
+    public static ColoringResult computeColoring(CompactGraph graph, int kmax, ColoringAlgorithm algorithm, int threads,
+                                                 CancellationToken token, ColoringListener listener) {
+        checkKmax(kmax);
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1.");
         }
-        recursiveLargestFirst(graph.nodes().collect(Collectors.toCollection(ArrayList::new)), colors, 1, kmax);
-        return colorizeUncoloredNodesWithMinConflicts(graph.nodes().toList(), kmax, colors);
+        long start = System.nanoTime();
+        return algorithm.color(graph, kmax, null, 0, threads, new ColoringMonitor(token, listener))
+                .measured(graph.getGraph(), start);
     }
 
     /**
-     * Recursively applies the Largest-First algorithm to a list of nodes,
-     * assigning colors to maximize the independence number of each step.
+     * Applies the given constructive coloring algorithm to the kmax-core of the specified graph only.
+     * The nodes with fewer than kmax neighbors are peeled off repeatedly until none is left, the kernel that remains
+     * is colored with the algorithm, and the peeled nodes are put back in reverse order with their smallest free
+     * color, which never adds a conflict. On sparse graphs the algorithm thus only runs on a small part of the nodes.
      *
-     * @param nodes     the list of nodes to be colored
-     * @param colors    the array of color codes in hexadecimal format
-     * @param colorIndex the current index of the color to be assigned
+     * @param graph     the graph to be colored
      * @param kmax      the maximum number of colors to use
+     * @param algorithm the algorithm coloring the kernel
+     * @return the total number of conflicts after coloring
+     */
+    public static int colorWithKernelReduction(Graph graph, int kmax, ColoringAlgorithm algorithm) {
+        checkKmax(kmax);
+        CompactGraph compact = CompactGraph.of(graph);
+        ColoringResult result = KernelReduction.color(compact, kmax, algorithm, null, 0, ColoringMonitor.NONE);
+        result.applyTo(graph);
+        return result.getConflicts();
+    }
+
+    /**
+     * Colors the specified graph one connected component at a time, the components being colored concurrently.
+     * Each large component, or batch of small ones, gets the best coloring found by the constructive algorithms.
+     * No edge joins two components, so the returned number of conflicts is the one of the whole graph.
+     *
+     * @param graph   the graph to be colored
+     * @param kmax    the maximum number of colors to use
+     * @param threads the number of components colored at the same time
+     * @return the total number of conflicts after coloring
+     */
+    public static int colorByComponents(Graph graph, int kmax, int threads) {
+        ColoringResult result = computeColoringByComponents(graph, kmax, threads);
+        result.applyTo(graph);
+        return result.getConflicts();
+    }
+
+    /**
+     * Computes the coloring of the specified graph one connected component at a time, as colorByComponents does,
+     * without writing it to the graph.
+     *
+     * @param graph   the graph to color
+     * @param kmax    the maximum number of colors to use
+     * @param threads the number of components colored at the same time
+     * @return the coloring, to be written to the graph with applyTo if needed
      */
-    private static void recursiveLargestFirst(List<Node> nodes, String[] colors, int colorIndex, int kmax) {
-        if (colorIndex > kmax) {
-            return;
+    public static ColoringResult computeColoringByComponents(Graph graph, int kmax, int threads) {
+        return computeColoringByComponents(graph, kmax, threads, null, null);
+    }
+
+    /**
+     * Computes the coloring of the specified graph one connected component at a time, without writing it to the graph,
+     * until the token is cancelled. The components not colored by then only get a quick coloring.
+     *
+     * @param graph    the graph to color
+     * @param kmax     the maximum number of colors to use
+     * @param threads  the number of components colored at the same time
+     * @param token    the token stopping the algorithms, or null
+     * @param listener the listener of their progress, or null
+     * @return the coloring, to be written to the graph with applyTo if needed
+     */
+    public static ColoringResult computeColoringByComponents(Graph graph, int kmax, int threads,
+                                                             CancellationToken token, ColoringListener listener) {
+        return computeColoringByComponents(CompactGraph.of(graph), kmax, threads, token, listener);
+    }
+
+    /**
+     * Computes the coloring of a compact graph one connected component at a time.
+     *
+     * @param graph    the compact graph to color
+     * @param kmax     the maximum number of colors to use
+     * @param threads  the number of components colored at the same time
+     * @param token    the token stopping the algorithms, or null
+     * @param listener the listener of their progress, or null
+     * @return the coloring
+     */
+    public static ColoringResult computeColoringByComponents(CompactGraph graph, int kmax, int threads,
+                                                             CancellationToken token, ColoringListener listener) {
+        checkKmax(kmax);
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1.");
         }
+        long start = System.nanoTime();
+        int[] colors = new int[graph.getNodeCount()];
+        int conflicts = ComponentColoring.color(graph, kmax, threads, colors, new ColoringMonitor(token, listener));
+        return new ColoringResult(colors, conflicts, null, 0).measured(graph.getGraph(), start);
+    }
 
-        Set<Node> currentIndependentNodes = new HashSet<>();
-        Node maxDegreeNode = findNodeWithMaxDegree(nodes);
-        currentIndependentNodes.add(maxDegreeNode);
-        nodes.remove(maxDegreeNode);
-
-        // Find all nodes that are independent of maxDegreeNode
-        Iterator<Node> iterator = nodes.iterator();
-        while (iterator.hasNext()) {
-            Node n = iterator.next();
-            boolean canAdd = true;
-            for (Node nod : currentIndependentNodes) {
-                if (nod.hasEdgeBetween(n)) {
-                    canAdd = false;
-                    break;
+    /**
+     * Colors the specified graph with many randomized starts of Welsh-Powell, DSATUR and Recursive Largest First
+     * run in parallel, and keeps the coloring with the fewest conflicts.
+     * Each start picks its algorithm, ordering perturbation and tie-breaking from its own seed, so the winning
+     * coloring can be reproduced from the seed recorded in the result. The search stops early once a coloring
+     * reaches the clique lower bound on the conflicts.
+     *
+     * @param graph            the graph to be colored
+     * @param kmax             the maximum number of colors to use
+     * @param threads          the number of starts run at the same time
+     * @param timeBudgetMillis the time after which no new start is launched, in milliseconds
+     * @param seed             the seed of the first start, the following starts using the next values
+     * @return the best coloring found, which is also applied to the graph
+     */
+    public static ColoringResult multiStart(Graph graph, int kmax, int threads, long timeBudgetMillis, long seed) {
+        return multiStart(graph, kmax, threads, timeBudgetMillis, seed, null, null);
+    }
+
+    /**
+     * Colors the specified graph with many randomized starts run in parallel, as multiStart does, no new start
+     * being launched once the token is cancelled.
+     *
+     * @param graph            the graph to be colored
+     * @param kmax             the maximum number of colors to use
+     * @param threads          the number of starts run at the same time
+     * @param timeBudgetMillis the time after which no new start is launched, in milliseconds
+     * @param seed             the seed of the first start, the following starts using the next values
+     * @param token            the token stopping the starts, or null
+     * @param listener         the listener of the progress of each start, or null
+     * @return the best coloring found, which is also applied to the graph
+     */
+    public static ColoringResult multiStart(Graph graph, int kmax, int threads, long timeBudgetMillis, long seed,
+                                            CancellationToken token, ColoringListener listener) {
+        ColoringResult result = computeMultiStart(CompactGraph.of(graph), kmax, threads, timeBudgetMillis, seed, token, listener);
+        result.applyTo(graph);
+        return result;
+    }
+
+    /**
+     * Computes the best coloring of a compact graph found by the multi-start portfolio, as multiStart does.
+     *
+     * @param graph            the compact graph to color
+     * @param kmax             the maximum number of colors to use
+     * @param threads          the number of starts run at the same time
+     * @param timeBudgetMillis the time after which no new start is launched, in milliseconds
+     * @param seed             the seed of the first start, the following starts using the next values
+     * @param token            the token stopping the starts, or null
+     * @param listener         the listener of the progress of each start, or null
+     * @return the best coloring found
+     */
+    public static ColoringResult computeMultiStart(CompactGraph graph, int kmax, int threads, long timeBudgetMillis,
+                                                   long seed, CancellationToken token, ColoringListener listener) {
+        checkKmax(kmax);
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1.");
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        ColoringResult result = MultiStart.run(graph, kmax, threads, deadline, seed, CliqueBound.lowerBound(graph, kmax),
+                new ColoringMonitor(token, listener));
+        return result.measured(graph.getGraph(), start);
+    }
+
+    /**
+     * Colors the specified graph with a hybrid evolutionary algorithm, for the graphs on which the other algorithms
+     * stall. A population of colorings improved by Tabucol evolves by greedy partition crossover, each child being
+     * improved by Tabucol in turn, the children of a generation being bred in parallel on all the processors.
+     * The search stops early once a coloring reaches the clique lower bound on the conflicts.
+     *
+     * @param graph            the graph to be colored
+     * @param kmax             the maximum number of colors to use
+     * @param populationSize   the number of colorings of the population, at least 2
+     * @param timeBudgetMillis the maximum duration of the search, in milliseconds
+     * @param seed             the seed of the search
+     * @return the total number of conflicts after coloring
+     */
+    public static int hybridEvolution(Graph graph, int kmax, int populationSize, long timeBudgetMillis, long seed) {
+        ColoringResult result = computeHybridEvolution(graph, kmax, populationSize, Runtime.getRuntime().availableProcessors(),
+                timeBudgetMillis, seed, null, null);
+        result.applyTo(graph);
+        return result.getConflicts();
+    }
+
+    /**
+     * Computes the coloring of the specified graph given by the hybrid evolutionary algorithm, as hybridEvolution
+     * does, without writing it to the graph.
+     * For a given seed and number of threads, the search only depends on the number of generations it has time for.
+     *
+     * @param graph            the graph to color
+     * @param kmax             the maximum number of colors to use
+     * @param populationSize   the number of colorings of the population, at least 2
+     * @param threads          the number of children bred at the same time
+     * @param timeBudgetMillis the maximum duration of the search, in milliseconds
+     * @param seed             the seed of the search
+     * @param token            the token stopping the search, or null
+     * @param listener         the listener of its progress, or null
+     * @return the best coloring found, to be written to the graph with applyTo if needed
+     */
+    public static ColoringResult computeHybridEvolution(Graph graph, int kmax, int populationSize, int threads,
+                                                        long timeBudgetMillis, long seed, CancellationToken token,
+                                                        ColoringListener listener) {
+        return computeHybridEvolution(CompactGraph.of(graph), kmax, populationSize, threads, timeBudgetMillis, seed,
+                token, listener);
+    }
+
+    /**
+     * Computes the coloring of a compact graph given by the hybrid evolutionary algorithm.
+     *
+     * @param graph            the compact graph to color
+     * @param kmax             the maximum number of colors to use
+     * @param populationSize   the number of colorings of the population, at least 2
+     * @param threads          the number of children bred at the same time
+     * @param timeBudgetMillis the maximum duration of the search, in milliseconds
+     * @param seed             the seed of the search
+     * @param token            the token stopping the search, or null
+     * @param listener         the listener of its progress, or null
+     * @return the best coloring found
+     */
+    public static ColoringResult computeHybridEvolution(CompactGraph graph, int kmax, int populationSize, int threads,
+                                                        long timeBudgetMillis, long seed, CancellationToken token,
+                                                        ColoringListener listener) {
+        checkKmax(kmax);
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("populationSize must be at least 2.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1.");
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        ColoringResult result = HybridEvolution.run(graph, kmax, populationSize, threads, deadline, seed,
+                CliqueBound.lowerBound(graph, kmax), new ColoringMonitor(token, listener));
+        return result.measured(graph.getGraph(), start);
+    }
+
+    /**
+     * Computes a lower bound on the number of conflicts of any coloring of the specified graph with kmax colors,
+     * from disjoint cliques of more than kmax nodes found greedily and by a bounded search on the smallest-last
+     * ordering. A positive bound proves that the graph has no kmax-coloring without conflict, and a coloring
+     * reaching the bound is optimal.
+     *
+     * @param graph the graph to examine
+     * @param kmax  the maximum number of colors
+     * @return the lower bound on the number of conflicts
+     */
+    public static int conflictLowerBound(Graph graph, int kmax) {
+        return conflictLowerBound(CompactGraph.of(graph), kmax);
+    }
+
+    /**
+     * Computes the clique lower bound on the conflicts of any coloring of a compact graph with kmax colors.
+     *
+     * @param graph the compact graph to examine
+     * @param kmax  the maximum number of colors
+     * @return the lower bound on the number of conflicts
+     */
+    public static int conflictLowerBound(CompactGraph graph, int kmax) {
+        checkKmax(kmax);
+        return CliqueBound.lowerBound(graph, kmax);
+    }
+
+    /**
+     * Searches for a coloring of the specified graph with the fewest conflicts possible, by branch and bound
+     * with DSATUR branching started from the best coloring of the constructive algorithms, on each connected
+     * component of at most 256 nodes, a component being left as soon as it reaches its clique lower bound.
+     * The coloring is only marked as optimal when the search ends within the time budget and no larger component
+     * has conflicts.
+     *
+     * @param graph            the graph to be colored
+     * @param kmax             the maximum number of colors to use
+     * @param timeBudgetMillis the maximum duration of the search, in milliseconds
+     * @return the best coloring found, which is also applied to the graph
+     */
+    public static ColoringResult exact(Graph graph, int kmax, long timeBudgetMillis) {
+        return exact(graph, kmax, timeBudgetMillis, null, null);
+    }
+
+    /**
+     * Searches for a coloring of the specified graph with the fewest conflicts possible, as exact does, the search
+     * stopping as at the end of its time budget when the token is cancelled.
+     *
+     * @param graph            the graph to be colored
+     * @param kmax             the maximum number of colors to use
+     * @param timeBudgetMillis the maximum duration of the search, in milliseconds
+     * @param token            the token stopping the search, or null
+     * @param listener         the listener of its progress, or null
+     * @return the best coloring found, which is also applied to the graph
+     */
+    public static ColoringResult exact(Graph graph, int kmax, long timeBudgetMillis, CancellationToken token,
+                                       ColoringListener listener) {
+        ColoringResult result = computeExact(CompactGraph.of(graph), kmax, timeBudgetMillis, token, listener);
+        result.applyTo(graph);
+        return result;
+    }
+
+    /**
+     * Searches for a coloring of a compact graph with the fewest conflicts possible, as exact does.
+     *
+     * @param graph            the compact graph to color
+     * @param kmax             the maximum number of colors to use
+     * @param timeBudgetMillis the maximum duration of the search, in milliseconds
+     * @param token            the token stopping the search, or null
+     * @param listener         the listener of its progress, or null
+     * @return the best coloring found
+     */
+    public static ColoringResult computeExact(CompactGraph graph, int kmax, long timeBudgetMillis, CancellationToken token,
+                                              ColoringListener listener) {
+        return computeExact(graph, kmax, null, timeBudgetMillis, token, listener);
+    }
+
+    /**
+     * Searches for a coloring of a compact graph with the fewest conflicts possible, starting from the given coloring
+     * instead of running the constructive algorithms again.
+     *
+     * @param graph            the compact graph to color
+     * @param kmax             the maximum number of colors to use
+     * @param incumbent        the coloring to start from, which is left unchanged, or null to start from the best
+     *                         coloring of the constructive algorithms
+     * @param timeBudgetMillis the maximum duration of the search, in milliseconds
+     * @param token            the token stopping the search, or null
+     * @param listener         the listener of its progress, or null
+     * @return the best coloring found
+     * @throws IllegalArgumentException if the incumbent does not fit the graph or uses colors above kmax
+     */
+    public static ColoringResult computeExact(CompactGraph graph, int kmax, ColoringResult incumbent, long timeBudgetMillis,
+                                              CancellationToken token, ColoringListener listener) {
+        checkKmax(kmax);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        ColoringMonitor monitor = new ColoringMonitor(token, listener);
+        int[] colors;
+        int conflicts;
+        if (incumbent == null) {
+            for (ColoringAlgorithm algorithm : ColoringAlgorithm.values()) {
+                ColoringResult result = algorithm.color(graph, kmax, null, 0, monitor);
+                if (incumbent == null || result.getConflicts() < incumbent.getConflicts()) {
+                    incumbent = result;
                 }
             }
-            if (canAdd) {
-                currentIndependentNodes.add(n);
-                iterator.remove();
+            colors = incumbent.colors();
+            conflicts = incumbent.getConflicts();
+        } else {
+            if (incumbent.getNodeCount() != graph.getNodeCount()) {
+                throw new IllegalArgumentException("The incumbent coloring does not have as many nodes as the graph.");
             }
+            colors = incumbent.getColors();
+            for (int color : colors) {
+                if (color < 1 || color > kmax) {
+                    throw new IllegalArgumentException("The incumbent coloring uses colors outside 1 to kmax.");
+                }
+            }
+            conflicts = Tabucol.countConflicts(graph, colors);
         }
 
-        for (Node node : currentIndependentNodes) {
-            node.setAttribute("color", colorIndex);
-            node.setAttribute("ui.style", "fill-color: " + colors[colorIndex - 1] + ";");
+        ColoringResult result = BranchAndBound.solve(graph, colors, conflicts, kmax, deadline, monitor);
+        return result.measured(graph.getGraph(), start);
+    }
+
+    /**
+     * Improves the coloring of the specified graph with the Tabucol local search
+     * until it has no conflict or the time budget runs out.
+     * The search starts from the current "color" attributes of the graph when every node has a color between
+     * 1 and kmax, and from a DSATUR coloring otherwise.
+     *
+     * @param graph            the graph to be colored
+     * @param kmax             the maximum number of colors to use
+     * @param timeBudgetMillis the maximum duration of the search, in milliseconds
+     * @return the total number of conflicts after coloring
+     */
+    public static int tabucol(Graph graph, int kmax, long timeBudgetMillis) {
+        return tabucol(graph, kmax, timeBudgetMillis, 0);
+    }
+
+    /**
+     * Improves the coloring of the specified graph with the Tabucol local search
+     * until it has no conflict or the time budget runs out, using the given random seed.
+     *
+     * @param graph            the graph to be colored
+     * @param kmax             the maximum number of colors to use
+     * @param timeBudgetMillis the maximum duration of the search, in milliseconds
+     * @param seed             the seed of the random tie-breaking and tabu tenures
+     * @return the total number of conflicts after coloring
+     */
+    public static int tabucol(Graph graph, int kmax, long timeBudgetMillis, long seed) {
+        checkKmax(kmax);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        CompactGraph compact = CompactGraph.of(graph);
+        int[] colors = currentColoring(compact, kmax);
+        if (colors == null) {
+            colors = ColoringAlgorithm.DSATUR.color(compact, kmax, null, 0).colors();
         }
-        recursiveLargestFirst(nodes, colors, colorIndex + 1, kmax);
+
+        ColoringResult result = Tabucol.improve(compact, colors, kmax, deadline, seed, ColoringMonitor.NONE);
+        result.applyTo(graph);
+        return result.getConflicts();
+    }
+
+    /**
+     * Improves a coloring of the specified graph with the Tabucol local search until it has no conflict or
+     * the time budget runs out, without writing it to the graph.
+     *
+     * @param graph            the graph the coloring was computed on
+     * @param kmax             the maximum number of colors to use
+     * @param start            the coloring to start from, which is left unchanged
+     * @param timeBudgetMillis the maximum duration of the search, in milliseconds
+     * @param seed             the seed of the random tie-breaking and tabu tenures
+     * @return the best coloring found, to be written to the graph with applyTo if needed
+     * @throws IllegalArgumentException if the start coloring does not fit the graph or uses colors above kmax
+     */
+    public static ColoringResult tabucol(Graph graph, int kmax, ColoringResult start, long timeBudgetMillis, long seed) {
+        return tabucol(graph, kmax, start, timeBudgetMillis, seed, null, null);
+    }
+
+    /**
+     * Improves a coloring of the specified graph with the Tabucol local search, as tabucol does, until the token
+     * is cancelled at the latest.
+     *
+     * @param graph            the graph the coloring was computed on
+     * @param kmax             the maximum number of colors to use
+     * @param start            the coloring to start from, which is left unchanged
+     * @param timeBudgetMillis the maximum duration of the search, in milliseconds
+     * @param seed             the seed of the random tie-breaking and tabu tenures
+     * @param token            the token stopping the search, or null
+     * @param listener         the listener of its progress, or null
+     * @return the best coloring found, to be written to the graph with applyTo if needed
+     * @throws IllegalArgumentException if the start coloring does not fit the graph or uses colors above kmax
+     */
+    public static ColoringResult tabucol(Graph graph, int kmax, ColoringResult start, long timeBudgetMillis, long seed,
+                                         CancellationToken token, ColoringListener listener) {
+        return tabucol(CompactGraph.of(graph), kmax, start, timeBudgetMillis, seed, token, listener);
     }
 
     /**
-     * Finds the node with the maximum degree from a list of nodes.
+     * Improves a coloring of a compact graph with the Tabucol local search, as tabucol does.
      *
-     * @param nodes the list of nodes from which to find the maximum degree node
-     * @return the node with the maximum degree
+     * @param graph            the compact graph the coloring was computed on
+     * @param kmax             the maximum number of colors to use
+     * @param start            the coloring to start from, which is left unchanged
+     * @param timeBudgetMillis the maximum duration of the search, in milliseconds
+     * @param seed             the seed of the random tie-breaking and tabu tenures
+     * @param token            the token stopping the search, or null
+     * @param listener         the listener of its progress, or null
+     * @return the best coloring found
+     * @throws IllegalArgumentException if the start coloring does not fit the graph or uses colors above kmax
      */
-    private static Node findNodeWithMaxDegree(List<Node> nodes) {
-        Node maxDegreeNode = null;
-        int maxDegree = -1;
-        for (Node node : nodes) {
-            if (node.getDegree() > maxDegree) {
-                maxDegree = node.getDegree();
-                maxDegreeNode = node;
+    public static ColoringResult tabucol(CompactGraph graph, int kmax, ColoringResult start, long timeBudgetMillis, long seed,
+                                         CancellationToken token, ColoringListener listener) {
+        checkKmax(kmax);
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        if (start.getNodeCount() != graph.getNodeCount()) {
+            throw new IllegalArgumentException("The start coloring does not have as many nodes as the graph.");
+        }
+        int[] colors = start.getColors();
+        for (int color : colors) {
+            if (color < 1 || color > kmax) {
+                throw new IllegalArgumentException("The start coloring uses colors outside 1 to kmax.");
             }
         }
-        return maxDegreeNode;
+        return Tabucol.improve(graph, colors, kmax, deadline, seed, new ColoringMonitor(token, listener))
+                .measured(graph.getGraph(), startNanos);
+    }
+
+    /**
+     * Recolors the specified graph with at most kmax colors, starting from its current "color" attributes instead
+     * of from nothing. The nodes whose color is still between 1 and kmax keep it, the nodes of the removed colors and
+     * the new nodes get their least conflicting color, and those of them left in conflict are then moved while this
+     * lowers the number of conflicts, along with the neighbors they now conflict with, so that raising kmax moves no
+     * node. This takes milliseconds where a full run of an algorithm takes seconds on large graphs.
+     *
+     * @param graph the graph to be recolored
+     * @param kmax  the maximum number of colors to use
+     * @return the total number of conflicts after coloring
+     */
+    public static int recolor(Graph graph, int kmax) {
+        checkKmax(kmax);
+        CompactGraph compact = CompactGraph.of(graph);
+        int[] previous = new int[compact.getNodeCount()];
+        for (int node = 0; node < previous.length; node++) {
+            Object color = compact.getNode(node).getAttribute("color");
+            previous[node] = color instanceof Integer ? (int) color : -1;
+        }
+        ColoringResult result = WarmStart.recolor(compact, previous, kmax);
+        result.applyTo(graph);
+        return result.getConflicts();
+    }
+
+    /**
+     * Recolors the specified graph with at most kmax colors starting from a previous coloring, as recolor does,
+     * without writing the coloring to the graph.
+     *
+     * @param graph    the graph the previous coloring was computed on
+     * @param kmax     the maximum number of colors to use
+     * @param previous the coloring to start from, possibly computed with another kmax, which is left unchanged
+     * @return the new coloring, with the number of nodes moved as iterations
+     * @throws IllegalArgumentException if the previous coloring does not have as many nodes as the graph
+     */
+    public static ColoringResult recolor(Graph graph, int kmax, ColoringResult previous) {
+        checkKmax(kmax);
+        long startNanos = System.nanoTime();
+        if (previous.getNodeCount() != graph.getNodeCount()) {
+            throw new IllegalArgumentException("The previous coloring does not have as many nodes as the graph.");
+        }
+        return WarmStart.recolor(CompactGraph.of(graph), previous.colors(), kmax).measured(graph, startNanos);
     }
 
     /**
      * Colors any remaining uncolored nodes with the color that minimizes conflicts.
+     * The counts of neighbor colors of the uncolored nodes are kept in a conflict table updated as nodes get
+     * colored, so that each node picks its color in O(kmax) and the total number of conflicts comes out of the
+     * table. When the table would be too large, the counts of each node are rebuilt in a scratch array instead.
      *
-     * @param nodes  the list of nodes to be colored
-     * @param kmax   the maximum number of colors to use
-     * @param colors the array of color codes in hexadecimal format
+     * @param compact the compact graph
+     * @param order   the order in which the nodes are visited
+     * @param colors  the current colors of the nodes, -1 for uncolored nodes
+     * @param kmax    the maximum number of colors to use
      * @return the total number of conflicts after coloring
      */
-    private static int colorizeUncoloredNodesWithMinConflicts(List<Node> nodes, int kmax, String[] colors) {
+    static int colorizeUncoloredNodesWithMinConflicts(CompactGraph compact, int[] order, int[] colors, int kmax) {
+        int[] uncolored = new int[order.length];
+        int uncoloredCount = 0;
+        for (int node : order) {
+            if (colors[node] == -1) {
+                uncolored[uncoloredCount++] = node;
+            }
+        }
+        if (uncoloredCount == 0) {
+            return 0;
+        }
+
         int totalConflicts = 0;
-        for (Node node : nodes) {
-            if ((int) node.getAttribute("color") == -1) {
-                int minConflicts = Integer.MAX_VALUE;
-                int minConflictsColorIndex = 1;
-
-                // Find the color with the minimum conflicts
-                for (int colorIndex = 1; colorIndex <= kmax; colorIndex++) {
-                    int conflicts = 0;
-                    for (Edge edge : node.edges().toList()) {
-                        if ((int) edge.getOpposite(node).getAttribute("color") == colorIndex) {
-                            conflicts++;
-                        }
+        if (ConflictTable.size(uncoloredCount, kmax) <= MAX_CONFLICT_TABLE_SIZE) {
+            ConflictTable table = new ConflictTable(compact, colors, uncolored, uncoloredCount, kmax);
+            for (int j = 0; j < uncoloredCount; j++) {
+                int node = uncolored[j];
+                int colorIndex = table.leastConflictingColor(node);
+                totalConflicts += table.count(node, colorIndex);
+                colors[node] = colorIndex;
+                table.colorAdded(compact, node, colorIndex);
+            }
+        } else {
+            int[] counts = new int[kmax + 1];
+            for (int j = 0; j < uncoloredCount; j++) {
+                int node = uncolored[j];
+                for (int i = compact.offsets[node]; i < compact.offsets[node + 1]; i++) {
+                    int color = colors[compact.neighbors[i]];
+                    if (color != -1) {
+                        counts[color]++;
                     }
-                    if (conflicts < minConflicts) {
-                        minConflicts = conflicts;
-                        minConflictsColorIndex = colorIndex;
+                }
+                int colorIndex = 1;
+                for (int c = 2; c <= kmax && counts[colorIndex] > 0; c++) {
+                    if (counts[c] < counts[colorIndex]) {
+                        colorIndex = c;
                     }
                 }
+                totalConflicts += counts[colorIndex];
+                colors[node] = colorIndex;
+
+                // Only reset the entries that were touched
+                for (int i = compact.offsets[node]; i < compact.offsets[node + 1]; i++) {
+                    int color = colors[compact.neighbors[i]];
+                    if (color != -1) {
+                        counts[color] = 0;
+                    }
+                }
+            }
+        }
+        return totalConflicts;
+    }
 
-                totalConflicts += minConflicts;
-
-                // Assign the color with minimum conflicts
-                node.setAttribute("color", minConflictsColorIndex);
-                node.setAttribute("ui.style", "fill-color: " + colors[minConflictsColorIndex - 1] + ";");
+    /**
+     * Reads the coloring currently stored in the "color" attributes of a graph.
+     *
+     * @param compact the compact graph built from the graph
+     * @param kmax    the maximum number of colors
+     * @return the color of each node, or null if some node has no color between 1 and kmax
+     */
+    static int[] currentColoring(CompactGraph compact, int kmax) {
+        int[] colors = new int[compact.getNodeCount()];
+        for (int node = 0; node < colors.length; node++) {
+            Object color = compact.getNode(node).getAttribute("color");
+            if (!(color instanceof Integer) || (int) color < 1 || (int) color > kmax) {
+                return null;
             }
+            colors[node] = (int) color;
         }
+        return colors;
+    }
 
-        return totalConflicts;
+    /**
+     * Checks that a maximum number of colors is usable by the coloring algorithms.
+     *
+     * @param kmax the maximum number of colors
+     * @throws IllegalArgumentException if kmax is lower than 1
+     */
+    static void checkKmax(int kmax) {
+        if (kmax < 1) {
+            throw new IllegalArgumentException("kmax must be at least 1.");
+        }
     }
 }
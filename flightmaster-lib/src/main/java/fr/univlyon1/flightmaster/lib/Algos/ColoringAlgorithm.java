@@ -0,0 +1,160 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.Random;
+
+/**
+ * Constructive coloring algorithms that can be run on a compact graph, either deterministically or with random
+ * tie-breaking and perturbed orderings.
+ * The nodes that do not fit in kmax colors are given their least conflicting color afterwards.
+ */
+public enum ColoringAlgorithm {
+
+    /**
+     * Welsh-Powell, coloring the nodes by decreasing degree.
+     */
+    WELSH_POWELL("Welsh-Powell") {
+        @Override
+        ColoringResult color(CompactGraph graph, int kmax, Random random, long seed, int threads,
+                            ColoringMonitor monitor) {
+            int[] order = random == null ? WelshPowell.degreeOrder(graph) : WelshPowell.randomizedDegreeOrder(graph, random);
+            return complete(graph, order, WelshPowell.color(graph, order, kmax, monitor), kmax, seed);
+        }
+    },
+
+    /**
+     * DSATUR, coloring first the nodes whose neighbors use the most distinct colors.
+     */
+    DSATUR("DSATUR") {
+        @Override
+        ColoringResult color(CompactGraph graph, int kmax, Random random, long seed, int threads,
+                            ColoringMonitor monitor) {
+            return complete(graph, null, Dsatur.color(graph, kmax, ranks(graph, random), monitor), kmax, seed);
+        }
+    },
+
+    /**
+     * Recursive Largest First, building one maximal independent set per color.
+     */
+    RECURSIVE_LARGEST_FIRST("Recursive Largest First") {
+        @Override
+        ColoringResult color(CompactGraph graph, int kmax, Random random, long seed, int threads,
+                            ColoringMonitor monitor) {
+            return complete(graph, null, RecursiveLargestFirst.color(graph, kmax, ranks(graph, random), monitor), kmax, seed);
+        }
+    },
+
+    /**
+     * Jones-Plassmann, coloring in parallel rounds the nodes of higher priority than all their uncolored neighbors.
+     * Its priorities always need random ranks, the deterministic version drawing them from the seed.
+     */
+    JONES_PLASSMANN("Jones-Plassmann") {
+        @Override
+        ColoringResult color(CompactGraph graph, int kmax, Random random, long seed, int threads,
+                            ColoringMonitor monitor) {
+            int[] ranks = IndexedHeap.randomRanks(graph.getNodeCount(), random == null ? new Random(seed) : random);
+            return complete(graph, null, JonesPlassmann.color(graph, kmax, ranks, threads, monitor), kmax, seed);
+        }
+    },
+
+    /**
+     * Smallest-last, coloring the nodes in the reverse of the order in which the core decomposition removes them,
+     * so that each node has at most degeneracy neighbors colored before it.
+     * The random version breaks the ties between nodes of the same degree randomly.
+     */
+    SMALLEST_LAST("Smallest Last") {
+        @Override
+        ColoringResult color(CompactGraph graph, int kmax, Random random, long seed, int threads,
+                            ColoringMonitor monitor) {
+            int[] shuffled = random == null ? null : IndexedHeap.randomRanks(graph.getNodeCount(), random);
+            int[] removal = CoreDecomposition.of(graph.simplified(), shuffled).getRemovalOrder();
+            int[] order = new int[removal.length];
+            for (int i = 0; i < removal.length; i++) {
+                order[i] = removal[removal.length - 1 - i];
+            }
+            return complete(graph, order, WelshPowell.color(graph, order, kmax, monitor), kmax, seed);
+        }
+    };
+
+    private final String displayName;
+
+    ColoringAlgorithm(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Returns the name of the algorithm as displayed to the user.
+     *
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Colors all the nodes of a compact graph.
+     *
+     * @param graph  the compact graph to color
+     * @param kmax   the maximum number of colors to use
+     * @param random the source of randomness, or null for the deterministic version of the algorithm
+     * @param seed   the seed of random, recorded in the result
+     * @return the coloring
+     */
+    ColoringResult color(CompactGraph graph, int kmax, Random random, long seed) {
+        return color(graph, kmax, random, seed, ColoringMonitor.NONE);
+    }
+
+    /**
+     * Colors all the nodes of a compact graph on the calling thread, the nodes not reached when the run is cancelled
+     * being given their least conflicting color.
+     *
+     * @param graph   the compact graph to color
+     * @param kmax    the maximum number of colors to use
+     * @param random  the source of randomness, or null for the deterministic version of the algorithm
+     * @param seed    the seed of random, recorded in the result
+     * @param monitor the cancellation and progress monitor of the run
+     * @return the coloring
+     */
+    ColoringResult color(CompactGraph graph, int kmax, Random random, long seed, ColoringMonitor monitor) {
+        return color(graph, kmax, random, seed, 1, monitor);
+    }
+
+    /**
+     * Colors all the nodes of a compact graph as color does, the parallel algorithms using the given number of
+     * threads and the others ignoring it.
+     *
+     * @param graph   the compact graph to color
+     * @param kmax    the maximum number of colors to use
+     * @param random  the source of randomness, or null for the deterministic version of the algorithm
+     * @param seed    the seed of random, recorded in the result
+     * @param threads the number of worker threads
+     * @param monitor the cancellation and progress monitor of the run
+     * @return the coloring
+     */
+    abstract ColoringResult color(CompactGraph graph, int kmax, Random random, long seed, int threads,
+                                  ColoringMonitor monitor);
+
+    /**
+     * Gives their least conflicting color to the nodes left uncolored by the algorithm.
+     *
+     * @param graph  the compact graph
+     * @param order  the order in which the uncolored nodes are completed, or null for the index order
+     * @param colors the colors found by the algorithm, -1 for uncolored nodes
+     * @param kmax   the maximum number of colors
+     * @param seed   the seed recorded in the result
+     * @return the complete coloring
+     */
+    ColoringResult complete(CompactGraph graph, int[] order, int[] colors, int kmax, long seed) {
+        if (order == null) {
+            order = new int[colors.length];
+            for (int node = 0; node < order.length; node++) {
+                order[node] = node;
+            }
+        }
+        int conflicts = Coloring.colorizeUncoloredNodesWithMinConflicts(graph, order, colors, kmax);
+        return new ColoringResult(colors, conflicts, this, seed);
+    }
+
+    private static int[] ranks(CompactGraph graph, Random random) {
+        return random == null ? null : IndexedHeap.randomRanks(graph.getNodeCount(), random);
+    }
+}
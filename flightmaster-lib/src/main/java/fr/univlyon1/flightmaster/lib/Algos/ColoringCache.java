@@ -0,0 +1,332 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import org.graphstream.graph.Edge;
+import org.graphstream.graph.Graph;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of the colorings given by the constructive algorithms, in front of Coloring.computeColoring.
+ * A coloring is looked up by the fingerprint of the graph, a hash of the ids of its nodes in index order and of the
+ * set of its edges, along with kmax and the algorithm, so that the same graph loaded again hits the cache.
+ * The colorings are kept in memory up to a given number, the least recently used one being dropped first, and
+ * optionally in a folder on disk where they survive the program, one file per coloring. The disk tier is best effort:
+ * a file that cannot be read or written, or whose conflicts do not match its colors, is treated as missing.
+ * The cache can be shared by several threads, the colorings of the runs that were stopped, by their token or by an
+ * interruption of their thread, are not stored.
+ */
+public class ColoringCache {
+
+    private final Map<Key, ColoringResult> memory;
+    private final Path folder;
+    private long memoryHits;
+    private long diskHits;
+    private long misses;
+
+    /**
+     * Creates a cache keeping the colorings in memory only.
+     *
+     * @param capacity the maximum number of colorings kept in memory
+     * @throws IllegalArgumentException if the capacity is lower than 1
+     */
+    public ColoringCache(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Creates a cache keeping the colorings in memory and in a folder on disk.
+     *
+     * @param capacity the maximum number of colorings kept in memory
+     * @param folder   the folder where the colorings are stored, created if needed, or null to keep them in memory only
+     * @throws IllegalArgumentException if the capacity is lower than 1
+     */
+    public ColoringCache(int capacity, Path folder) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of the cache must be at least 1.");
+        }
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ColoringResult> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.folder = folder;
+    }
+
+    /**
+     * Returns the coloring of the specified graph given by a constructive algorithm, from the cache if it was
+     * computed before and with Coloring.computeColoring otherwise.
+     *
+     * @param graph     the graph to color
+     * @param kmax      the maximum number of colors to use
+     * @param algorithm the algorithm to apply
+     * @return the coloring, to be written to the graph with applyTo if needed
+     */
+    public ColoringResult computeColoring(Graph graph, int kmax, ColoringAlgorithm algorithm) {
+        return computeColoring(graph, kmax, algorithm, null, null);
+    }
+
+    /**
+     * Returns the coloring of the specified graph given by a constructive algorithm, from the cache if it was
+     * computed before and with Coloring.computeColoring until the token is cancelled otherwise.
+     * The colorings read from disk have their conflicts counted again on the graph, their duration being the one of
+     * the reading.
+     *
+     * @param graph     the graph to color
+     * @param kmax      the maximum number of colors to use
+     * @param algorithm the algorithm to apply
+     * @param token     the token stopping the algorithm, or null
+     * @param listener  the listener of its progress, or null
+     * @return the coloring, to be written to the graph with applyTo if needed
+     */
+    public ColoringResult computeColoring(Graph graph, int kmax, ColoringAlgorithm algorithm,
+                                          CancellationToken token, ColoringListener listener) {
+        return computeColoring(graph, null, kmax, algorithm, Runtime.getRuntime().availableProcessors(), token, listener);
+    }
+
+    /**
+     * Returns the coloring of a compact graph given by a constructive algorithm, as computeColoring does on the graph
+     * it was built from, the compact graph only being read when the coloring has to be computed.
+     *
+     * @param graph     the compact graph to color
+     * @param kmax      the maximum number of colors to use
+     * @param algorithm the algorithm to apply
+     * @param token     the token stopping the algorithm, or null
+     * @param listener  the listener of its progress, or null
+     * @return the coloring, to be written to the source graph with applyTo if needed
+     */
+    public ColoringResult computeColoring(CompactGraph graph, int kmax, ColoringAlgorithm algorithm,
+                                          CancellationToken token, ColoringListener listener) {
+        return computeColoring(graph, kmax, algorithm, Runtime.getRuntime().availableProcessors(), token, listener);
+    }
+
+    /**
+     * Returns the coloring of a compact graph given by a constructive algorithm, as computeColoring does, the
+     * parallel algorithms using the given number of threads when the coloring has to be computed.
+     *
+     * @param graph     the compact graph to color
+     * @param kmax      the maximum number of colors to use
+     * @param algorithm the algorithm to apply
+     * @param threads   the number of threads of the parallel algorithms
+     * @param token     the token stopping the algorithm, or null
+     * @param listener  the listener of its progress, or null
+     * @return the coloring, to be written to the source graph with applyTo if needed
+     */
+    public ColoringResult computeColoring(CompactGraph graph, int kmax, ColoringAlgorithm algorithm, int threads,
+                                          CancellationToken token, ColoringListener listener) {
+        return computeColoring(graph.getGraph(), graph, kmax, algorithm, threads, token, listener);
+    }
+
+    /**
+     * Returns the coloring of a graph from the cache, or computes it on the compact graph when one is given and on
+     * the graph otherwise.
+     */
+    private ColoringResult computeColoring(Graph graph, CompactGraph compact, int kmax, ColoringAlgorithm algorithm,
+                                           int threads, CancellationToken token, ColoringListener listener) {
+        Coloring.checkKmax(kmax);
+        long start = System.nanoTime();
+        Key key = new Key(fingerprint(graph), graph.getNodeCount(), graph.getEdgeCount(), kmax, algorithm);
+        synchronized (this) {
+            ColoringResult cached = memory.get(key);
+            if (cached != null) {
+                memoryHits++;
+                return cached;
+            }
+        }
+
+        ColoringResult result = readFromDisk(key, graph, start);
+        synchronized (this) {
+            if (result != null) {
+                diskHits++;
+                memory.put(key, result);
+                return result;
+            }
+            misses++;
+        }
+
+        result = Coloring.computeColoring(compact == null ? CompactGraph.of(graph) : compact, kmax, algorithm, threads,
+                token, listener);
+        // A stopped run may have left nodes with the default color, so its coloring is not kept
+        boolean stopped = (token != null && token.isCancelled()) || Thread.currentThread().isInterrupted();
+        if (!stopped) {
+            synchronized (this) {
+                memory.put(key, result);
+            }
+            writeToDisk(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of colorings found in memory.
+     *
+     * @return the number of memory hits
+     */
+    public synchronized long getMemoryHits() {
+        return memoryHits;
+    }
+
+    /**
+     * Returns the number of colorings not found in memory but read from disk.
+     *
+     * @return the number of disk hits
+     */
+    public synchronized long getDiskHits() {
+        return diskHits;
+    }
+
+    /**
+     * Returns the number of colorings found in memory or on disk.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getHits() {
+        return memoryHits + diskHits;
+    }
+
+    /**
+     * Returns the number of colorings that had to be computed.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of colorings kept in memory.
+     *
+     * @return the size of the memory tier
+     */
+    public synchronized int size() {
+        return memory.size();
+    }
+
+    /**
+     * Removes the colorings kept in memory only. The colorings on disk are kept, as are the counts of hits and misses.
+     */
+    public synchronized void clear() {
+        memory.clear();
+    }
+
+    /**
+     * Computes a structural fingerprint of a graph in O(n + m): a hash of the ids of the nodes in index order,
+     * since the colorings are indexed by node, combined with an order-independent hash of the edges given by the
+     * indices of their ends. Two graphs with the same fingerprint, node count and edge count are taken as equal.
+     *
+     * @param graph the graph
+     * @return the fingerprint of the graph
+     */
+    public static long fingerprint(Graph graph) {
+        long nodeHash = graph.getNodeCount();
+        for (int i = 0; i < graph.getNodeCount(); i++) {
+            nodeHash = mix(nodeHash * 31 + graph.getNode(i).getId().hashCode());
+        }
+        long edgeHash = 0;
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            Edge edge = graph.getEdge(e);
+            int u = edge.getNode0().getIndex();
+            int v = edge.getNode1().getIndex();
+            edgeHash += mix(((long) Math.min(u, v) << 32) | Math.max(u, v));
+        }
+        return mix(nodeHash ^ mix(edgeHash + graph.getEdgeCount()));
+    }
+
+    /**
+     * Reads a coloring from disk, one color per line after the number of conflicts.
+     *
+     * @return the coloring, or null if it is not on disk, cannot be read or its conflicts are not the ones of its colors
+     */
+    private ColoringResult readFromDisk(Key key, Graph graph, long start) {
+        if (folder == null) {
+            return null;
+        }
+        Path path = folder.resolve(key.fileName());
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            int conflicts = Integer.parseInt(reader.readLine());
+            int[] colors = new int[key.nodeCount()];
+            for (int node = 0; node < colors.length; node++) {
+                colors[node] = Integer.parseInt(reader.readLine());
+                if (colors[node] < 1 || colors[node] > key.kmax()) {
+                    return null;
+                }
+            }
+            if (conflicts != countConflicts(graph, colors)) {
+                return null;
+            }
+            return new ColoringResult(colors, conflicts, key.algorithm(), 0).measured(graph, start);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Counts the edges of a graph whose ends have the same color, loops excluded.
+     */
+    private static int countConflicts(Graph graph, int[] colors) {
+        int conflicts = 0;
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            Edge edge = graph.getEdge(e);
+            int u = edge.getNode0().getIndex();
+            int v = edge.getNode1().getIndex();
+            if (u != v && colors[u] == colors[v]) {
+                conflicts++;
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Writes a coloring to disk through a temporary file, so that a coloring being written is never read.
+     */
+    private void writeToDisk(Key key, ColoringResult result) {
+        if (folder == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(folder);
+            Path temporary = Files.createTempFile(folder, key.fileName(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary)) {
+                writer.write(Integer.toString(result.getConflicts()));
+                writer.newLine();
+                for (int color : result.colors()) {
+                    writer.write(Integer.toString(color));
+                    writer.newLine();
+                }
+            }
+            Files.move(temporary, folder.resolve(key.fileName()), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not store the coloring in the cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finalizer of SplitMix64, spreading the bits of a value over the whole hash.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Key of a coloring in the cache.
+     */
+    private record Key(long fingerprint, int nodeCount, int edgeCount, int kmax, ColoringAlgorithm algorithm) {
+
+        String fileName() {
+            return String.format("%016x-%d-%d-%d-%s.txt", fingerprint, nodeCount, edgeCount, kmax, algorithm.name());
+        }
+    }
+}
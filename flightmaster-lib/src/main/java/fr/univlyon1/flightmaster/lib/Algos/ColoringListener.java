@@ -0,0 +1,19 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+/**
+ * Receives the progress of a running coloring algorithm, reported at the same intervals at which it checks for
+ * cancellation. The parallel algorithms may report from several threads at once.
+ */
+@FunctionalInterface
+public interface ColoringListener {
+
+    /**
+     * Called as the algorithm progresses.
+     *
+     * @param coloredNodes the number of nodes colored so far by the algorithm, all of them for the local searches
+     * @param conflicts    the number of conflicts of the current coloring, 0 while the constructive algorithms only
+     *                     give free colors
+     * @param elapsedNanos the time elapsed since the algorithm started, in nanoseconds
+     */
+    void onProgress(int coloredNodes, int conflicts, long elapsedNanos);
+}
@@ -0,0 +1,68 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+/**
+ * Cancellation token and progress listener of a run, as seen by the coloring engines.
+ * The engines call checkpoint every CHECK_INTERVAL steps of their main loop and stop as soon as it returns true,
+ * which also happens when their thread is interrupted, as by Future.cancel(true).
+ */
+final class ColoringMonitor {
+
+    /**
+     * Number of steps of an engine between two checkpoints, a power of two.
+     */
+    static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * Monitor of the runs that are only stopped by an interruption and report no progress.
+     */
+    static final ColoringMonitor NONE = new ColoringMonitor(null, null);
+
+    private final CancellationToken token;
+    private final ColoringListener listener;
+    private final long startNanos;
+
+    /**
+     * Creates the monitor of a run starting now.
+     *
+     * @param token    the token cancelling the run, or null
+     * @param listener the listener of its progress, or null
+     */
+    ColoringMonitor(CancellationToken token, ColoringListener listener) {
+        this.token = token;
+        this.listener = listener;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns whether the given step of an engine is one at which checkpoint must be called.
+     *
+     * @param step the number of steps made so far
+     * @return true every CHECK_INTERVAL steps
+     */
+    static boolean isCheckpoint(long step) {
+        return (step & (CHECK_INTERVAL - 1)) == 0;
+    }
+
+    /**
+     * Reports the progress of the run and returns whether it must stop.
+     *
+     * @param coloredNodes the number of nodes colored so far
+     * @param conflicts    the number of conflicts of the current coloring
+     * @return true if the run is cancelled
+     */
+    boolean checkpoint(int coloredNodes, int conflicts) {
+        if (listener != null) {
+            listener.onProgress(coloredNodes, conflicts, System.nanoTime() - startNanos);
+        }
+        return isStopped();
+    }
+
+    /**
+     * Returns whether the run is cancelled, without reporting progress.
+     *
+     * @return true if the token is cancelled or the current thread interrupted
+     */
+    boolean isStopped() {
+        return (token != null && token.isCancelled()) || Thread.currentThread().isInterrupted();
+    }
+}
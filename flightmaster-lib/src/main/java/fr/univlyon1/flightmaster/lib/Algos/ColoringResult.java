@@ -0,0 +1,240 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import org.graphstream.graph.Edge;
+import org.graphstream.graph.Graph;
+
+import java.util.Arrays;
+
+/**
+ * Result of a coloring run: the color of each node, indexed like the nodes of the graph, and the number of
+ * conflicting edges, along with the algorithm and the random seed that produced it, and whether no coloring with
+ * fewer conflicts exists.
+ * The results returned by Coloring also give the indices of the conflicting edges, the duration of the run and its
+ * number of iterations. A result is only written to a graph when applyTo is called.
+ * Results are ordered by number of conflicts, then by colors, so that the best of two results compares lower.
+ */
+public class ColoringResult implements Comparable<ColoringResult> {
+
+    private static final int[] NO_EDGES = new int[0];
+
+    private final int[] colors;
+    private final int conflicts;
+    private final ColoringAlgorithm algorithm;
+    private final long seed;
+    private final boolean optimal;
+    private final long iterations;
+    private final long elapsedNanos;
+    private final int[] conflictingEdges;
+
+    ColoringResult(int[] colors, int conflicts, ColoringAlgorithm algorithm, long seed) {
+        this(colors, conflicts, algorithm, seed, conflicts == 0);
+    }
+
+    ColoringResult(int[] colors, int conflicts, ColoringAlgorithm algorithm, long seed, boolean optimal) {
+        this(colors, conflicts, algorithm, seed, optimal, 0);
+    }
+
+    ColoringResult(int[] colors, int conflicts, ColoringAlgorithm algorithm, long seed, boolean optimal, long iterations) {
+        this(colors, conflicts, algorithm, seed, optimal, iterations, 0, null);
+    }
+
+    private ColoringResult(int[] colors, int conflicts, ColoringAlgorithm algorithm, long seed, boolean optimal,
+                           long iterations, long elapsedNanos, int[] conflictingEdges) {
+        this.colors = colors;
+        this.conflicts = conflicts;
+        this.algorithm = algorithm;
+        this.seed = seed;
+        this.optimal = optimal;
+        this.iterations = iterations;
+        this.elapsedNanos = elapsedNanos;
+        this.conflictingEdges = conflictingEdges;
+    }
+
+    /**
+     * Returns a copy of the color of each node, between 1 and kmax, indexed by node index.
+     *
+     * @return the colors of the nodes
+     */
+    public int[] getColors() {
+        return colors.clone();
+    }
+
+    /**
+     * Returns the color of a single node.
+     *
+     * @param nodeIndex the index of the node in the graph
+     * @return the color of the node, between 1 and kmax
+     */
+    public int getColor(int nodeIndex) {
+        return colors[nodeIndex];
+    }
+
+    /**
+     * Returns the number of nodes colored.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return colors.length;
+    }
+
+    /**
+     * Returns the number of edges whose two ends have the same color.
+     *
+     * @return the number of conflicts
+     */
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Returns the indices in the graph of the edges whose two ends have the same color, in increasing order.
+     *
+     * @return the conflicting edges, empty when the result was not produced by Coloring
+     */
+    public int[] getConflictingEdges() {
+        return conflictingEdges == null ? NO_EDGES : conflictingEdges.clone();
+    }
+
+    /**
+     * Returns the algorithm that produced this coloring.
+     *
+     * @return the coloring algorithm, or null for the exact solver, the local searches and the per-component coloring
+     */
+    public ColoringAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Returns the random seed the coloring was produced with, 0 for the deterministic algorithms.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns whether the coloring is proven to have the fewest conflicts possible with kmax colors,
+     * which is always the case of a coloring without conflict.
+     *
+     * @return true if no coloring with fewer conflicts exists
+     */
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    /**
+     * Returns the number of iterations of the search: moves of the Tabucol local search, nodes of the exact
+     * solver, starts of the multi-start portfolio or children of the hybrid evolutionary algorithm.
+     * The constructive algorithms make no iteration.
+     *
+     * @return the number of iterations
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns the duration of the run that produced this coloring, including the conversion of the graph unless the
+     * run was given a compact graph.
+     *
+     * @return the duration in nanoseconds, 0 when the result was not produced by Coloring
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns an independent copy of this result, in O(n).
+     *
+     * @return the copy
+     */
+    public ColoringResult copy() {
+        return new ColoringResult(colors.clone(), conflicts, algorithm, seed, optimal, iterations, elapsedNanos,
+                conflictingEdges == null ? null : conflictingEdges.clone());
+    }
+
+    /**
+     * Writes the colors to the "color" attributes of a graph, the node of index i getting the color of index i.
+     *
+     * @param graph the graph the coloring was computed on
+     * @throws IllegalArgumentException if the graph does not have as many nodes as the coloring
+     */
+    public void applyTo(Graph graph) {
+        if (graph.getNodeCount() != colors.length) {
+            throw new IllegalArgumentException("The graph has " + graph.getNodeCount() + " nodes but the coloring has "
+                    + colors.length + ".");
+        }
+        for (int node = 0; node < colors.length; node++) {
+            graph.getNode(node).setAttribute("color", colors[node]);
+        }
+    }
+
+    /**
+     * Compares the results by number of conflicts, then by colors, in O(n).
+     *
+     * @param other the result to compare to
+     * @return a negative number if this result has fewer conflicts than the other
+     */
+    @Override
+    public int compareTo(ColoringResult other) {
+        int byConflicts = Integer.compare(conflicts, other.conflicts);
+        return byConflicts != 0 ? byConflicts : Arrays.compare(colors, other.colors);
+    }
+
+    /**
+     * Returns whether the other object is a result with the same conflicts and colors, in O(n).
+     *
+     * @param other the object to compare to
+     * @return true if both results color the nodes the same way
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ColoringResult result && conflicts == result.conflicts && Arrays.equals(colors, result.colors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(colors);
+    }
+
+    /**
+     * Returns this result with the duration of its run and its conflicting edges in the graph it was computed on.
+     *
+     * @param graph      the graph that was colored
+     * @param startNanos the System.nanoTime() value at which the run started
+     * @return the completed result, sharing the colors of this one
+     */
+    ColoringResult measured(Graph graph, long startNanos) {
+        // A coloring without conflict has no edge to look for
+        if (conflicts == 0) {
+            return new ColoringResult(colors, conflicts, algorithm, seed, optimal, iterations,
+                    System.nanoTime() - startNanos, NO_EDGES);
+        }
+        int[] edges = new int[conflicts];
+        int count = 0;
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            Edge edge = graph.getEdge(e);
+            int u = edge.getNode0().getIndex();
+            int v = edge.getNode1().getIndex();
+            if (u != v && colors[u] == colors[v]) {
+                if (count == edges.length) {
+                    edges = Arrays.copyOf(edges, Math.max(1, count * 2));
+                }
+                edges[count++] = e;
+            }
+        }
+        return new ColoringResult(colors, conflicts, algorithm, seed, optimal, iterations,
+                System.nanoTime() - startNanos, count == edges.length ? edges : Arrays.copyOf(edges, count));
+    }
+
+    /**
+     * Returns the colors without copying them, for the algorithms of this package.
+     *
+     * @return the colors of the nodes
+     */
+    int[] colors() {
+        return colors;
+    }
+}
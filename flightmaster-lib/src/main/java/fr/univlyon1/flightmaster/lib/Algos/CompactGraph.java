@@ -0,0 +1,203 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import org.graphstream.graph.Edge;
+import org.graphstream.graph.Graph;
+import org.graphstream.graph.Node;
+
+import java.util.Arrays;
+
+/**
+ * Compact int-indexed view of the topology of a GraphStream graph, stored in compressed sparse row form.
+ * The node of index i in the compact graph is the node of index i in the source graph, or the i-th node of the
+ * subset it was induced from, and its neighbors are
+ * stored in neighbors[offsets[i]] to neighbors[offsets[i + 1] - 1], once per edge so that parallel edges are kept.
+ * Loops are dropped since a node can never be in conflict with itself.
+ */
+public class CompactGraph {
+
+    private final Graph graph;
+
+    /**
+     * Start of the neighbors of each node in the neighbors array, with one extra trailing entry.
+     */
+    final int[] offsets;
+
+    /**
+     * Concatenated neighbor indices of all nodes.
+     */
+    final int[] neighbors;
+
+    /**
+     * Degree of each node, as reported by GraphStream.
+     */
+    final int[] degrees;
+
+    /**
+     * Index in the source graph of each node, or null when the compact graph covers the whole source graph.
+     */
+    private final int[] sourceIndices;
+
+    private CompactGraph(Graph graph, int[] sourceIndices, int[] offsets, int[] neighbors, int[] degrees) {
+        this.graph = graph;
+        this.sourceIndices = sourceIndices;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.degrees = degrees;
+    }
+
+    /**
+     * Builds the compact representation of the given graph in O(n + m).
+     *
+     * @param graph the graph to convert
+     * @return the compact graph
+     */
+    public static CompactGraph of(Graph graph) {
+        int nodeCount = graph.getNodeCount();
+        int[] offsets = new int[nodeCount + 1];
+        int[] degrees = new int[nodeCount];
+
+        for (int i = 0; i < nodeCount; i++) {
+            degrees[i] = graph.getNode(i).getDegree();
+        }
+
+        // Count the neighbors of each node, then turn the counts into offsets
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            Edge edge = graph.getEdge(e);
+            int u = edge.getNode0().getIndex();
+            int v = edge.getNode1().getIndex();
+            if (u != v) {
+                offsets[u + 1]++;
+                offsets[v + 1]++;
+            }
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] neighbors = new int[offsets[nodeCount]];
+        int[] next = new int[nodeCount];
+        System.arraycopy(offsets, 0, next, 0, nodeCount);
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            Edge edge = graph.getEdge(e);
+            int u = edge.getNode0().getIndex();
+            int v = edge.getNode1().getIndex();
+            if (u != v) {
+                neighbors[next[u]++] = v;
+                neighbors[next[v]++] = u;
+            }
+        }
+
+        return new CompactGraph(graph, null, offsets, neighbors, degrees);
+    }
+
+    /**
+     * Builds the compact graph induced by a subset of the nodes. Node i of the result is node subset[i] of this
+     * graph. The edges leaving the subset are dropped, the neighbors outside of it being recognized by the -1 they
+     * must have in localIndices, and the degrees are lowered accordingly. A subset containing all the neighbors of
+     * its nodes, as a union of connected components does, needs no such marking, so that disjoint unions of
+     * components can be induced concurrently with the same localIndices array.
+     *
+     * @param subset       the node indices of the subset
+     * @param localIndices an array of one entry per node of this graph, overwritten for the nodes of the subset
+     * @return the induced compact graph
+     */
+    CompactGraph induced(int[] subset, int[] localIndices) {
+        for (int i = 0; i < subset.length; i++) {
+            localIndices[subset[i]] = i;
+        }
+        int[] subOffsets = new int[subset.length + 1];
+        int[] subDegrees = new int[subset.length];
+        int[] subSourceIndices = new int[subset.length];
+        for (int i = 0; i < subset.length; i++) {
+            int node = subset[i];
+            int kept = 0;
+            for (int j = offsets[node]; j < offsets[node + 1]; j++) {
+                if (localIndices[neighbors[j]] != -1) {
+                    kept++;
+                }
+            }
+            subOffsets[i + 1] = subOffsets[i] + kept;
+            subDegrees[i] = degrees[node] - (offsets[node + 1] - offsets[node] - kept);
+            subSourceIndices[i] = sourceIndices == null ? node : sourceIndices[node];
+        }
+        int[] subNeighbors = new int[subOffsets[subset.length]];
+        for (int i = 0; i < subset.length; i++) {
+            int next = subOffsets[i];
+            for (int j = offsets[subset[i]]; j < offsets[subset[i] + 1]; j++) {
+                int local = localIndices[neighbors[j]];
+                if (local != -1) {
+                    subNeighbors[next++] = local;
+                }
+            }
+        }
+        return new CompactGraph(graph, subSourceIndices, subOffsets, subNeighbors, subDegrees);
+    }
+
+    /**
+     * Builds the simple graph with the same nodes, keeping a single edge between two adjacent nodes.
+     * The degree of each node becomes its number of distinct neighbors.
+     *
+     * @return the compact graph without parallel edges
+     */
+    CompactGraph simplified() {
+        int nodeCount = getNodeCount();
+        int[] lastSeen = new int[nodeCount];
+        Arrays.fill(lastSeen, -1);
+        int[] simpleOffsets = new int[nodeCount + 1];
+        int[] simpleNeighbors = new int[neighbors.length];
+        for (int node = 0; node < nodeCount; node++) {
+            int next = simpleOffsets[node];
+            for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                if (lastSeen[neighbors[i]] != node) {
+                    lastSeen[neighbors[i]] = node;
+                    simpleNeighbors[next++] = neighbors[i];
+                }
+            }
+            simpleOffsets[node + 1] = next;
+        }
+        int[] simpleDegrees = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            simpleDegrees[node] = simpleOffsets[node + 1] - simpleOffsets[node];
+        }
+        return new CompactGraph(graph, sourceIndices, simpleOffsets,
+                Arrays.copyOf(simpleNeighbors, simpleOffsets[nodeCount]), simpleDegrees);
+    }
+
+    /**
+     * Returns the graph this compact graph was built from.
+     *
+     * @return the source graph
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the number of nodes of the graph.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return degrees.length;
+    }
+
+    /**
+     * Returns the degree of the node of the given index.
+     *
+     * @param index the index of the node
+     * @return the degree of the node
+     */
+    public int getDegree(int index) {
+        return degrees[index];
+    }
+
+    /**
+     * Returns the GraphStream node of the given index.
+     *
+     * @param index the index of the node
+     * @return the node
+     */
+    public Node getNode(int index) {
+        return graph.getNode(sourceIndices == null ? index : sourceIndices[index]);
+    }
+}
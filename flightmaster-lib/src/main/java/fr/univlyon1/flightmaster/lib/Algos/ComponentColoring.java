@@ -0,0 +1,142 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Colors a compact graph one connected component at a time. Since no edge joins two components, their colorings
+ * are independent and the conflicts of the whole graph are the sum of the conflicts of the components.
+ * The large components are colored concurrently, each in its own task, while the small ones are gathered in batches
+ * so that a task is never too small. Every task keeps the best coloring found by the constructive algorithms.
+ */
+final class ComponentColoring {
+
+    /**
+     * Number of nodes from which a component is colored in its own task.
+     */
+    static final int LARGE_COMPONENT_SIZE = 64;
+
+    /**
+     * Maximum number of nodes of a batch of small components.
+     */
+    static final int BATCH_SIZE = 1024;
+
+    private ComponentColoring() {
+    }
+
+    /**
+     * Returns the connected components of a compact graph, found by breadth-first search in O(n + m).
+     *
+     * @param graph the compact graph
+     * @return the increasing node indices of each component, the components being listed in order of their smallest
+     * node, so that the algorithms break their ties on a component as they do on the whole graph
+     */
+    static List<int[]> components(CompactGraph graph) {
+        int nodeCount = graph.getNodeCount();
+        boolean[] visited = new boolean[nodeCount];
+        int[] queue = new int[nodeCount];
+        List<int[]> components = new ArrayList<>();
+        int end = 0;
+        for (int root = 0; root < nodeCount; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            int start = end;
+            visited[root] = true;
+            queue[end++] = root;
+            for (int head = start; head < end; head++) {
+                int node = queue[head];
+                for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+                    int neighbor = graph.neighbors[i];
+                    if (!visited[neighbor]) {
+                        visited[neighbor] = true;
+                        queue[end++] = neighbor;
+                    }
+                }
+            }
+            int[] component = new int[end - start];
+            System.arraycopy(queue, start, component, 0, component.length);
+            Arrays.sort(component);
+            components.add(component);
+        }
+        return components;
+    }
+
+    /**
+     * Colors every connected component of a compact graph on the given number of threads.
+     *
+     * @param graph   the compact graph to color
+     * @param kmax    the maximum number of colors to use
+     * @param threads the number of worker threads
+     * @param colors  the array receiving the color of each node, between 1 and kmax
+     * @param monitor the monitor of the run, the parts colored after it is cancelled only getting a quick coloring
+     * @return the total number of conflicts
+     */
+    static int color(CompactGraph graph, int kmax, int threads, int[] colors, ColoringMonitor monitor) {
+        // Large components are colored alone, biggest first, and small ones are merged in batches
+        List<int[]> parts = new ArrayList<>();
+        int[] batch = new int[BATCH_SIZE];
+        int batchSize = 0;
+        for (int[] component : components(graph)) {
+            if (component.length >= LARGE_COMPONENT_SIZE) {
+                parts.add(component);
+                continue;
+            }
+            if (batchSize + component.length > BATCH_SIZE) {
+                parts.add(Arrays.copyOf(batch, batchSize));
+                batchSize = 0;
+            }
+            System.arraycopy(component, 0, batch, batchSize, component.length);
+            batchSize += component.length;
+        }
+        if (batchSize > 0) {
+            parts.add(Arrays.copyOf(batch, batchSize));
+        }
+        parts.sort(Comparator.comparingInt((int[] part) -> part.length).reversed());
+
+        int[] localIndices = new int[graph.getNodeCount()];
+        ForkJoinPool pool = Workers.pool(threads);
+        try {
+            List<ForkJoinTask<Integer>> tasks = new ArrayList<>();
+            for (int[] part : parts) {
+                tasks.add(Workers.submit(pool, () -> colorPart(graph, part, localIndices, kmax, colors, monitor)));
+            }
+            int conflicts = 0;
+            for (ForkJoinTask<Integer> task : tasks) {
+                conflicts += task.join();
+            }
+            return conflicts;
+        } finally {
+            Workers.shutdown(pool);
+        }
+    }
+
+    /**
+     * Colors a large component or a batch of small ones and writes its colors back to the colors of the whole graph.
+     *
+     * @return the number of conflicts of the part
+     */
+    private static int colorPart(CompactGraph graph, int[] part, int[] localIndices, int kmax, int[] colors,
+                                 ColoringMonitor monitor) {
+        CompactGraph subgraph = graph.induced(part, localIndices);
+        ColoringResult best = null;
+        for (ColoringAlgorithm algorithm : ColoringAlgorithm.values()) {
+            ColoringResult result = algorithm.color(subgraph, kmax, null, 0, monitor);
+            if (best == null || result.getConflicts() < best.getConflicts()) {
+                best = result;
+            }
+            if (best.getConflicts() == 0 || monitor.isStopped()) {
+                break;
+            }
+        }
+        int[] partColors = best.colors();
+        for (int i = 0; i < part.length; i++) {
+            colors[part[i]] = partColors[i];
+        }
+        return best.getConflicts();
+    }
+}
@@ -0,0 +1,122 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.Arrays;
+
+/**
+ * Table of the number of neighbors of each tracked node having each color between 1 and kmax, stored as one
+ * dense row of kmax ints per tracked node. Untracked nodes have no row, which keeps the table small when only
+ * a few nodes need it.
+ */
+final class ConflictTable {
+
+    private final int kmax;
+    private final int[] rows;
+    private final int[] counts;
+
+    /**
+     * Creates a table tracking the given nodes, filled from the current colors of their neighbors.
+     *
+     * @param graph     the compact graph
+     * @param colors    the current colors of the nodes, -1 for uncolored nodes
+     * @param nodes     the nodes to track
+     * @param nodeCount the number of valid entries in nodes
+     * @param kmax      the maximum number of colors
+     */
+    ConflictTable(CompactGraph graph, int[] colors, int[] nodes, int nodeCount, int kmax) {
+        this.kmax = kmax;
+        this.rows = new int[graph.getNodeCount()];
+        this.counts = new int[nodeCount * kmax];
+        Arrays.fill(rows, -1);
+        for (int j = 0; j < nodeCount; j++) {
+            int node = nodes[j];
+            rows[node] = j * kmax;
+            for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+                int color = colors[graph.neighbors[i]];
+                if (color != -1) {
+                    counts[rows[node] + color - 1]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cells a table tracking the given number of nodes would hold.
+     *
+     * @param nodeCount the number of tracked nodes
+     * @param kmax      the maximum number of colors
+     * @return the number of cells of the table
+     */
+    static long size(int nodeCount, int kmax) {
+        return (long) nodeCount * kmax;
+    }
+
+    /**
+     * Returns whether a node has a row in the table.
+     *
+     * @param node the node index
+     * @return true if the node is tracked
+     */
+    boolean isTracked(int node) {
+        return rows[node] != -1;
+    }
+
+    /**
+     * Returns the number of neighbors of a tracked node having the given color.
+     *
+     * @param node  the node index
+     * @param color the color, between 1 and kmax
+     * @return the number of neighbors with this color
+     */
+    int count(int node, int color) {
+        return counts[rows[node] + color - 1];
+    }
+
+    /**
+     * Returns the first color with the fewest neighbors of a tracked node, in O(kmax).
+     *
+     * @param node the node index
+     * @return the least conflicting color, between 1 and kmax
+     */
+    int leastConflictingColor(int node) {
+        int row = rows[node];
+        int best = 0;
+        for (int c = 1; c < kmax && counts[row + best] > 0; c++) {
+            if (counts[row + c] < counts[row + best]) {
+                best = c;
+            }
+        }
+        return best + 1;
+    }
+
+    /**
+     * Records that a node took a color, updating the rows of its tracked neighbors.
+     *
+     * @param graph the compact graph
+     * @param node  the node index
+     * @param color the new color of the node
+     */
+    void colorAdded(CompactGraph graph, int node, int color) {
+        for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+            int row = rows[graph.neighbors[i]];
+            if (row != -1) {
+                counts[row + color - 1]++;
+            }
+        }
+    }
+
+    /**
+     * Records that a node lost a color, updating the rows of its tracked neighbors.
+     *
+     * @param graph the compact graph
+     * @param node  the node index
+     * @param color the previous color of the node
+     */
+    void colorRemoved(CompactGraph graph, int node, int color) {
+        for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+            int row = rows[graph.neighbors[i]];
+            if (row != -1) {
+                counts[row + color - 1]--;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import org.graphstream.graph.Graph;
+
+/**
+ * Core decomposition of a graph by the bucket algorithm of Batagelj and Zaversnik, in O(n + m).
+ * The nodes are removed one at a time by increasing current degree, which gives the smallest-last (degeneracy)
+ * ordering, and the core number of a node is its current degree when it is removed. Each neighbor entry counts
+ * once, so the decomposition is meant to run on a simplified graph.
+ */
+public final class CoreDecomposition {
+
+    private final int[] coreNumbers;
+    private final int[] removalOrder;
+    private final int degeneracy;
+
+    private CoreDecomposition(int[] coreNumbers, int[] removalOrder, int degeneracy) {
+        this.coreNumbers = coreNumbers;
+        this.removalOrder = removalOrder;
+        this.degeneracy = degeneracy;
+    }
+
+    /**
+     * Computes the core decomposition of a graph, parallel edges counting as a single one.
+     *
+     * @param graph the graph
+     * @return the core decomposition, indexed like the nodes of the graph
+     */
+    public static CoreDecomposition of(Graph graph) {
+        return of(CompactGraph.of(graph).simplified());
+    }
+
+    /**
+     * Computes the core decomposition of a compact graph.
+     *
+     * @param graph the compact graph, without parallel edges
+     * @return the core decomposition
+     */
+    static CoreDecomposition of(CompactGraph graph) {
+        return of(graph, null);
+    }
+
+    /**
+     * Computes the core decomposition of a compact graph, the nodes of the same degree being removed in the given
+     * order rather than in index order.
+     *
+     * @param graph the compact graph, without parallel edges
+     * @param order the order in which the nodes are placed in their bins, or null for the index order
+     * @return the core decomposition
+     */
+    static CoreDecomposition of(CompactGraph graph, int[] order) {
+        int nodeCount = graph.getNodeCount();
+        int[] degrees = new int[nodeCount];
+        int maxDegree = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            degrees[node] = graph.offsets[node + 1] - graph.offsets[node];
+            maxDegree = Math.max(maxDegree, degrees[node]);
+        }
+
+        // Sort the nodes by degree, bins[d] being the position of the first node of degree d
+        int[] bins = new int[maxDegree + 2];
+        for (int node = 0; node < nodeCount; node++) {
+            bins[degrees[node] + 1]++;
+        }
+        for (int d = 1; d < bins.length; d++) {
+            bins[d] += bins[d - 1];
+        }
+        int[] sorted = new int[nodeCount];
+        int[] positions = new int[nodeCount];
+        int[] next = bins.clone();
+        for (int i = 0; i < nodeCount; i++) {
+            int node = order == null ? i : order[i];
+            positions[node] = next[degrees[node]]++;
+            sorted[positions[node]] = node;
+        }
+
+        // Remove the nodes in order, moving each neighbor of higher degree to the front of its bin before lowering it
+        int degeneracy = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            int node = sorted[i];
+            degeneracy = Math.max(degeneracy, degrees[node]);
+            for (int j = graph.offsets[node]; j < graph.offsets[node + 1]; j++) {
+                int neighbor = graph.neighbors[j];
+                if (degrees[neighbor] > degrees[node]) {
+                    int degree = degrees[neighbor];
+                    int first = sorted[bins[degree]];
+                    if (first != neighbor) {
+                        sorted[positions[neighbor]] = first;
+                        positions[first] = positions[neighbor];
+                        sorted[bins[degree]] = neighbor;
+                        positions[neighbor] = bins[degree];
+                    }
+                    bins[degree]++;
+                    degrees[neighbor]--;
+                }
+            }
+        }
+        return new CoreDecomposition(degrees, sorted, degeneracy);
+    }
+
+    /**
+     * Returns a copy of the core number of each node, the largest k such that the node belongs to a subgraph where
+     * every node has at least k neighbors.
+     *
+     * @return the core numbers, indexed by node
+     */
+    public int[] getCoreNumbers() {
+        return coreNumbers.clone();
+    }
+
+    /**
+     * Returns a copy of the nodes in the order they were removed, each node having at most degeneracy neighbors
+     * after it. Coloring the nodes greedily in the reverse order uses at most degeneracy + 1 colors.
+     *
+     * @return the smallest-last removal order
+     */
+    public int[] getRemovalOrder() {
+        return removalOrder.clone();
+    }
+
+    /**
+     * Returns the degeneracy of the graph, its largest core number.
+     *
+     * @return the degeneracy
+     */
+    public int getDegeneracy() {
+        return degeneracy;
+    }
+}
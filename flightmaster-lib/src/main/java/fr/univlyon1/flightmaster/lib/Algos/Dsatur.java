@@ -0,0 +1,79 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.Arrays;
+
+/**
+ * Incremental DSATUR engine working on a compact graph.
+ * The saturation of a node is only updated when one of its neighbors gets a color it had not seen yet,
+ * using one bitset of neighbor colors per node, and the nodes are kept in an indexed heap keyed on
+ * (saturation, degree), so that coloring the whole graph costs O((n + m) log n + n * kmax / 64).
+ * Nodes with the same saturation and degree are colored by decreasing index, or by decreasing rank when
+ * random ranks are given.
+ */
+final class Dsatur {
+
+    private Dsatur() {
+    }
+
+    /**
+     * Colors the nodes of a compact graph with DSATUR, leaving -1 on the nodes for which no color
+     * between 1 and kmax is free.
+     *
+     * @param graph   the compact graph to color
+     * @param kmax    the maximum number of colors to use
+     * @param ranks   the tie-breaking rank of each node, or null to use the node indices
+     * @param monitor the monitor of the run, the remaining nodes being left uncolored when it is cancelled
+     * @return the color of each node, -1 for uncolored nodes
+     */
+    static int[] color(CompactGraph graph, int kmax, int[] ranks, ColoringMonitor monitor) {
+        int nodeCount = graph.getNodeCount();
+        int words = ColorBitset.words(kmax);
+        long[] neighborColors = new long[nodeCount * words];
+        int[] saturation = new int[nodeCount];
+        int[] colors = new int[nodeCount];
+        Arrays.fill(colors, -1);
+
+        IndexedHeap queue = new IndexedHeap(nodeCount, ranks);
+        for (int node = 0; node < nodeCount; node++) {
+            queue.insert(node, key(0, graph.degrees[node]));
+        }
+
+        for (int step = 0; !queue.isEmpty(); step++) {
+            if (ColoringMonitor.isCheckpoint(step) && monitor.checkpoint(step, 0)) {
+                break;
+            }
+            int node = queue.poll();
+            int colorIndex = ColorBitset.firstFreeColor(neighborColors, node * words, words, kmax);
+            if (colorIndex == -1) {
+                // Left for the min-conflict completion
+                continue;
+            }
+            colors[node] = colorIndex;
+
+            // Update the saturation of the uncolored neighbors that had not seen this color yet
+            int word = colorIndex >>> 6;
+            long bit = 1L << colorIndex;
+            for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+                int neighbor = graph.neighbors[i];
+                int slot = neighbor * words + word;
+                if (queue.contains(neighbor) && (neighborColors[slot] & bit) == 0) {
+                    neighborColors[slot] |= bit;
+                    saturation[neighbor]++;
+                    queue.update(neighbor, key(saturation[neighbor], graph.degrees[neighbor]));
+                }
+            }
+        }
+        return colors;
+    }
+
+    /**
+     * Packs a saturation and a degree into a heap priority ordering nodes by saturation first, then by degree.
+     *
+     * @param saturation the saturation degree of the node
+     * @param degree     the degree of the node
+     * @return the heap priority
+     */
+    private static long key(int saturation, int degree) {
+        return ((long) saturation << 32) | degree;
+    }
+}
@@ -0,0 +1,261 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import org.graphstream.graph.Edge;
+import org.graphstream.graph.ElementNotFoundException;
+import org.graphstream.graph.Graph;
+import org.graphstream.graph.Node;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the coloring of a graph up to date while nodes and edges are added and removed, without recoloring
+ * the whole graph each time. A new node takes its smallest free color, and the nodes touched by a change are
+ * repaired locally: each conflicting node moves to its least conflicting color as long as this lowers the number
+ * of conflicts, the smallest free color being preferred, and the neighbors it now conflicts with are repaired in
+ * turn. Since the local repairs can drift away from what a full recoloring would give, the graph is recolored
+ * with the chosen algorithm once the conflicts exceed the ones of the last full recoloring by more than the
+ * configured quality gap.
+ * Loops are ignored, as in the other coloring algorithms.
+ */
+public class DynamicColoring {
+
+    private final Graph graph;
+    private final int kmax;
+    private final ColoringAlgorithm algorithm;
+
+    private double qualityGap = 0.1;
+    private int conflicts;
+    private int referenceConflicts;
+    private int fullRecolorings;
+
+    /**
+     * Starts tracking the coloring of a graph. The current "color" attributes are kept when every node has
+     * a color between 1 and kmax, otherwise the graph is first colored with the given algorithm.
+     *
+     * @param graph     the graph to keep colored
+     * @param kmax      the maximum number of colors to use
+     * @param algorithm the algorithm used when the whole graph has to be recolored
+     */
+    public DynamicColoring(Graph graph, int kmax, ColoringAlgorithm algorithm) {
+        Coloring.checkKmax(kmax);
+        this.graph = graph;
+        this.kmax = kmax;
+        this.algorithm = algorithm;
+
+        CompactGraph compact = CompactGraph.of(graph);
+        int[] colors = Coloring.currentColoring(compact, kmax);
+        if (colors == null) {
+            recolor();
+        } else {
+            conflicts = Tabucol.countConflicts(compact, colors);
+            referenceConflicts = conflicts;
+        }
+    }
+
+    /**
+     * Adds a node to the graph and gives it the first color.
+     *
+     * @param id the identifier of the node
+     * @return the new node, whose edges can then be added with addEdge
+     */
+    public Node addNode(String id) {
+        Node node = graph.addNode(id);
+        node.setAttribute("color", 1);
+        return node;
+    }
+
+    /**
+     * Removes a node from the graph, along with its edges, then repairs its neighbors.
+     *
+     * @param id the identifier of the node
+     * @throws ElementNotFoundException if the graph has no node with this identifier, as Graph.removeNode does
+     */
+    public void removeNode(String id) {
+        Node node = graph.getNode(id);
+        if (node == null) {
+            throw new ElementNotFoundException("Node \"%s\" not found.", id);
+        }
+        conflicts -= conflictsOf(node);
+        List<Node> neighbors = new ArrayList<>();
+        for (Edge edge : node) {
+            if (!edge.isLoop()) {
+                neighbors.add(edge.getOpposite(node));
+            }
+        }
+        graph.removeNode(node);
+        repair(neighbors);
+    }
+
+    /**
+     * Adds an edge to the graph, then repairs its ends if they have the same color.
+     *
+     * @param id   the identifier of the edge
+     * @param from the identifier of the first node
+     * @param to   the identifier of the second node
+     * @return the new edge
+     */
+    public Edge addEdge(String id, String from, String to) {
+        Edge edge = graph.addEdge(id, from, to);
+        if (!edge.isLoop() && color(edge.getNode0()) == color(edge.getNode1())) {
+            conflicts++;
+            repair(List.of(edge.getNode0(), edge.getNode1()));
+        }
+        return edge;
+    }
+
+    /**
+     * Removes an edge from the graph, then repairs its ends, which may now be able to leave a conflict.
+     *
+     * @param id the identifier of the edge
+     * @throws ElementNotFoundException if the graph has no edge with this identifier, as Graph.removeEdge does
+     */
+    public void removeEdge(String id) {
+        Edge edge = graph.getEdge(id);
+        if (edge == null) {
+            throw new ElementNotFoundException("Edge \"%s\" not found.", id);
+        }
+        if (!edge.isLoop() && color(edge.getNode0()) == color(edge.getNode1())) {
+            conflicts--;
+        }
+        graph.removeEdge(edge);
+        repair(List.of(edge.getNode0(), edge.getNode1()));
+    }
+
+    /**
+     * Recolors the whole graph with the algorithm, unless the current coloring already has fewer conflicts,
+     * and makes the result the new reference for the quality gap.
+     *
+     * @return the number of conflicts after recoloring
+     */
+    public int recolor() {
+        CompactGraph compact = CompactGraph.of(graph);
+        ColoringResult result = algorithm.color(compact, kmax, null, 0);
+        int[] current = Coloring.currentColoring(compact, kmax);
+        if (current == null || result.getConflicts() < conflicts) {
+            result.applyTo(graph);
+            conflicts = result.getConflicts();
+        }
+        referenceConflicts = result.getConflicts();
+        fullRecolorings++;
+        return conflicts;
+    }
+
+    /**
+     * Returns the current number of edges whose two ends have the same color.
+     *
+     * @return the number of conflicts
+     */
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Returns the number of conflicts of the last full recoloring, or of the initial coloring.
+     *
+     * @return the reference number of conflicts
+     */
+    public int getReferenceConflicts() {
+        return referenceConflicts;
+    }
+
+    /**
+     * Returns the number of times the whole graph has been recolored, including the initial coloring.
+     *
+     * @return the number of full recolorings
+     */
+    public int getFullRecolorings() {
+        return fullRecolorings;
+    }
+
+    /**
+     * Returns the share of extra conflicts over the reference tolerated before the whole graph is recolored.
+     *
+     * @return the quality gap
+     */
+    public double getQualityGap() {
+        return qualityGap;
+    }
+
+    /**
+     * Sets the share of extra conflicts over the reference tolerated before the whole graph is recolored.
+     * With a reference of r conflicts, the graph is recolored once it has more than r + ceil(gap * max(r, 1)).
+     *
+     * @param qualityGap the quality gap, 0 recoloring the graph as soon as it gets worse than the reference
+     */
+    public void setQualityGap(double qualityGap) {
+        if (qualityGap < 0) {
+            throw new IllegalArgumentException("The quality gap cannot be negative.");
+        }
+        this.qualityGap = qualityGap;
+    }
+
+    /**
+     * Moves conflicting nodes to better colors, starting from the given nodes, then recolors the whole graph
+     * if the conflicts are still beyond the quality gap.
+     */
+    private void repair(List<Node> nodes) {
+        ArrayDeque<Node> queue = new ArrayDeque<>(nodes);
+        Set<Node> queued = new HashSet<>(nodes);
+        int[] counts = new int[kmax + 1];
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            queued.remove(node);
+            if (graph.getNode(node.getId()) != node) {
+                continue;
+            }
+
+            for (Edge edge : node) {
+                if (!edge.isLoop()) {
+                    counts[color(edge.getOpposite(node))]++;
+                }
+            }
+            int current = color(node);
+            int best = 1;
+            for (int c = 2; c <= kmax && counts[best] > 0; c++) {
+                if (counts[c] < counts[best]) {
+                    best = c;
+                }
+            }
+            int gain = counts[current] - counts[best];
+            Arrays.fill(counts, 0);
+
+            // Each move lowers the number of conflicts, so the repair always ends
+            if (gain > 0) {
+                node.setAttribute("color", best);
+                conflicts -= gain;
+                for (Edge edge : node) {
+                    Node neighbor = edge.getOpposite(node);
+                    if (!edge.isLoop() && color(neighbor) == best && queued.add(neighbor)) {
+                        queue.add(neighbor);
+                    }
+                }
+            }
+        }
+
+        if (conflicts > referenceConflicts + (int) Math.ceil(qualityGap * Math.max(referenceConflicts, 1))) {
+            recolor();
+        }
+    }
+
+    /**
+     * Counts the edges of a node whose other end has the same color.
+     */
+    private int conflictsOf(Node node) {
+        int count = 0;
+        for (Edge edge : node) {
+            if (!edge.isLoop() && color(edge.getOpposite(node)) == color(node)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int color(Node node) {
+        return (int) node.getAttribute("color");
+    }
+}
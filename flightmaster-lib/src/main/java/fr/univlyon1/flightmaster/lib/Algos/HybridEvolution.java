@@ -0,0 +1,190 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Hybrid evolutionary coloring (Galinier and Hao) working on a compact graph.
+ * A population of colorings, each built by a randomized greedy start and improved by a short Tabucol run, evolves by
+ * greedy partition crossover: the child takes in turn from each parent the color class covering the most nodes not
+ * yet placed, the nodes left over getting a random color, and is improved by a short Tabucol run before replacing the
+ * worst coloring of the population.
+ * Each generation breeds one child per thread in parallel, every child drawing its parents and its randomness from
+ * its own seed, and the children then replace the worst colorings in a fixed order, so that the search does not
+ * depend on the scheduling of the threads.
+ */
+final class HybridEvolution {
+
+    /**
+     * Number of Tabucol moves made to improve each coloring of the population.
+     */
+    private static final int LOCAL_SEARCH_MOVES = 2_000;
+
+    private HybridEvolution() {
+    }
+
+    /**
+     * Evolves a population of colorings until the deadline, the cancellation of the run or a coloring reaching the
+     * target.
+     *
+     * @param graph          the compact graph to color
+     * @param kmax           the maximum number of colors to use
+     * @param populationSize the number of colorings of the population, at least 2
+     * @param threads        the number of children bred at the same time
+     * @param deadlineNanos  the System.nanoTime() value at which the search stops
+     * @param seed           the seed of the search
+     * @param target         the number of conflicts at which the search stops, known to be the best possible
+     * @param monitor        the monitor of the run
+     * @return the coloring with the fewest conflicts found, with the number of children bred
+     */
+    static ColoringResult run(CompactGraph graph, int kmax, int populationSize, int threads, long deadlineNanos,
+                              long seed, int target, ColoringMonitor monitor) {
+        ColoringResult[] population = new ColoringResult[populationSize];
+        ColoringResult best = null;
+        long children = 0;
+
+        ForkJoinPool pool = Workers.pool(threads);
+        try {
+            List<ForkJoinTask<ColoringResult>> tasks = new ArrayList<>();
+            for (int i = 0; i < populationSize; i++) {
+                long memberSeed = seed + i;
+                tasks.add(Workers.submit(pool, () -> {
+                    ColoringResult start = MultiStart.start(graph, kmax, memberSeed, monitor);
+                    return Tabucol.improve(graph, start.colors(), kmax, deadlineNanos, LOCAL_SEARCH_MOVES, memberSeed, monitor);
+                }));
+            }
+            for (int i = 0; i < populationSize; i++) {
+                population[i] = tasks.get(i).join();
+                if (best == null || population[i].getConflicts() < best.getConflicts()) {
+                    best = population[i];
+                }
+            }
+
+            long nextSeed = seed + populationSize;
+            while (best.getConflicts() > target && System.nanoTime() - deadlineNanos < 0 && !monitor.isStopped()) {
+                ColoringResult[] parents = population.clone();
+                tasks.clear();
+                for (int t = 0; t < threads; t++) {
+                    long childSeed = nextSeed++;
+                    tasks.add(Workers.submit(pool, () -> breed(graph, kmax, parents, deadlineNanos, childSeed, monitor)));
+                }
+                for (ForkJoinTask<ColoringResult> task : tasks) {
+                    ColoringResult child = task.join();
+                    children++;
+                    replaceWorst(population, child);
+                    if (child.getConflicts() < best.getConflicts()) {
+                        best = child;
+                    }
+                }
+            }
+        } finally {
+            Workers.shutdown(pool);
+        }
+        return new ColoringResult(best.colors(), best.getConflicts(), null, seed, best.getConflicts() <= target, children);
+    }
+
+    /**
+     * Breeds a child from two distinct parents drawn from the population, then improves it.
+     */
+    private static ColoringResult breed(CompactGraph graph, int kmax, ColoringResult[] population, long deadlineNanos,
+                                        long seed, ColoringMonitor monitor) {
+        Random random = new Random(seed);
+        int first = random.nextInt(population.length);
+        int second = random.nextInt(population.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        int[] child = crossover(population[first].colors(), population[second].colors(), kmax, random);
+        return Tabucol.improve(graph, child, kmax, deadlineNanos, LOCAL_SEARCH_MOVES, seed, monitor);
+    }
+
+    /**
+     * Greedy partition crossover: the child takes, alternately from each parent, the color class with the most nodes
+     * not placed yet, and the nodes left over after kmax classes get a random color.
+     * The classes of each parent are bucketed once and each one is taken at most once, so the crossover is in
+     * O(n + kmax^2).
+     *
+     * @param first  the colors of the first parent, between 1 and kmax
+     * @param second the colors of the second parent, between 1 and kmax
+     * @param kmax   the maximum number of colors
+     * @param random the source of randomness for the nodes left over
+     * @return the colors of the child
+     */
+    static int[] crossover(int[] first, int[] second, int kmax, Random random) {
+        int nodeCount = first.length;
+        int[][] parents = {first, second};
+        int[][] starts = new int[2][];
+        int[][] members = new int[2][];
+        int[][] remaining = new int[2][];
+        for (int p = 0; p < 2; p++) {
+            // Bucket the nodes of each parent by color, in counting sort fashion
+            int[] start = new int[kmax + 2];
+            for (int node = 0; node < nodeCount; node++) {
+                start[parents[p][node] + 1]++;
+            }
+            remaining[p] = new int[kmax + 1];
+            for (int color = 1; color <= kmax; color++) {
+                remaining[p][color] = start[color + 1];
+                start[color + 1] += start[color];
+            }
+            int[] next = start.clone();
+            int[] member = new int[nodeCount];
+            for (int node = 0; node < nodeCount; node++) {
+                member[next[parents[p][node]]++] = node;
+            }
+            starts[p] = start;
+            members[p] = member;
+        }
+
+        int[] child = new int[nodeCount];
+        for (int color = 1; color <= kmax; color++) {
+            int p = (color - 1) & 1;
+            int largest = 1;
+            for (int c = 2; c <= kmax; c++) {
+                if (remaining[p][c] > remaining[p][largest]) {
+                    largest = c;
+                }
+            }
+            if (remaining[p][largest] == 0) {
+                break;
+            }
+            for (int i = starts[p][largest]; i < starts[p][largest + 1]; i++) {
+                int node = members[p][i];
+                if (child[node] == 0) {
+                    child[node] = color;
+                    remaining[0][first[node]]--;
+                    remaining[1][second[node]]--;
+                }
+            }
+        }
+
+        for (int node = 0; node < nodeCount; node++) {
+            if (child[node] == 0) {
+                child[node] = 1 + random.nextInt(kmax);
+            }
+        }
+        return child;
+    }
+
+    /**
+     * Puts a child in place of the coloring of the population with the most conflicts, the last one winning ties,
+     * unless the child is worse or already in the population.
+     */
+    private static void replaceWorst(ColoringResult[] population, ColoringResult child) {
+        int worst = 0;
+        for (int i = 0; i < population.length; i++) {
+            if (population[i].equals(child)) {
+                return;
+            }
+            if (population[i].getConflicts() >= population[worst].getConflicts()) {
+                worst = i;
+            }
+        }
+        if (child.getConflicts() <= population[worst].getConflicts()) {
+            population[worst] = child;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Binary max-heap over the node indices 0 to n - 1 with a long priority per node, supporting priority updates
+ * in O(log n). Nodes with equal priorities are polled by decreasing rank, the rank of a node being its index
+ * unless explicit ranks are given, which makes every algorithm built on top of it deterministic.
+ */
+final class IndexedHeap {
+
+    private final long[] keys;
+    private final int[] heap;
+    private final int[] positions;
+    private final int[] ranks;
+    private int size;
+
+    /**
+     * Creates an empty heap able to hold the node indices 0 to capacity - 1.
+     *
+     * @param capacity the number of nodes
+     */
+    IndexedHeap(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Creates an empty heap able to hold the node indices 0 to capacity - 1, breaking ties with the given ranks.
+     *
+     * @param capacity the number of nodes
+     * @param ranks    the tie-breaking rank of each node, or null to use the node indices
+     */
+    IndexedHeap(int capacity, int[] ranks) {
+        this.ranks = ranks;
+        keys = new long[capacity];
+        heap = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Returns a random permutation of the node indices 0 to nodeCount - 1, used as tie-breaking ranks.
+     *
+     * @param nodeCount the number of nodes
+     * @param random    the source of randomness
+     * @return the random permutation
+     */
+    static int[] randomRanks(int nodeCount, Random random) {
+        int[] ranks = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            int j = random.nextInt(i + 1);
+            ranks[i] = ranks[j];
+            ranks[j] = i;
+        }
+        return ranks;
+    }
+
+    /**
+     * Returns whether the heap is empty.
+     *
+     * @return true if no node is left in the heap
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns whether the given node is in the heap.
+     *
+     * @param node the node index
+     * @return true if the node is in the heap
+     */
+    boolean contains(int node) {
+        return positions[node] != -1;
+    }
+
+    /**
+     * Returns the current priority of a node of the heap.
+     *
+     * @param node the node index
+     * @return the priority of the node
+     */
+    long getKey(int node) {
+        return keys[node];
+    }
+
+    /**
+     * Inserts a node that is not in the heap yet.
+     *
+     * @param node the node index
+     * @param key  the priority of the node
+     */
+    void insert(int node, long key) {
+        keys[node] = key;
+        heap[size] = node;
+        positions[node] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Changes the priority of a node of the heap.
+     *
+     * @param node the node index
+     * @param key  the new priority of the node
+     */
+    void update(int node, long key) {
+        long previous = keys[node];
+        keys[node] = key;
+        if (key > previous) {
+            siftUp(positions[node]);
+        } else if (key < previous) {
+            siftDown(positions[node]);
+        }
+    }
+
+    /**
+     * Removes and returns the node with the highest priority.
+     *
+     * @return the node index
+     */
+    int poll() {
+        int top = heap[0];
+        removeAt(0);
+        return top;
+    }
+
+    /**
+     * Removes a node from the heap.
+     *
+     * @param node the node index
+     */
+    void remove(int node) {
+        removeAt(positions[node]);
+    }
+
+    private void removeAt(int position) {
+        int node = heap[position];
+        positions[node] = -1;
+        size--;
+        if (position < size) {
+            int last = heap[size];
+            heap[position] = last;
+            positions[last] = position;
+            siftDown(position);
+            siftUp(positions[last]);
+        }
+    }
+
+    private boolean before(int a, int b) {
+        if (keys[a] != keys[b]) {
+            return keys[a] > keys[b];
+        }
+        return ranks == null ? a > b : ranks[a] > ranks[b];
+    }
+
+    private void siftUp(int position) {
+        int node = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!before(node, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = node;
+        positions[node] = position;
+    }
+
+    private void siftDown(int position) {
+        int node = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], node)) {
+                break;
+            }
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = node;
+        positions[node] = position;
+    }
+}
@@ -0,0 +1,164 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Jones-Plassmann parallel coloring engine working on a compact graph.
+ * Every node gets a priority, here its degree with ties broken by a random rank, and is colored as soon as all its
+ * neighbors of higher priority are done. The nodes colored in the same round are therefore never adjacent and each
+ * one only reads colors fixed in earlier rounds, so a round is colored in parallel without locking and the result
+ * does not depend on the number of threads. A node takes the smallest color between 1 and kmax not used by its
+ * neighbors, and is left uncolored when there is none.
+ */
+final class JonesPlassmann {
+
+    /**
+     * Number of nodes below which a round is colored on the calling thread, splitting it not being worth it.
+     */
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    private JonesPlassmann() {
+    }
+
+    /**
+     * Colors the nodes of a compact graph in parallel rounds, leaving -1 on the nodes for which no color
+     * between 1 and kmax is free.
+     *
+     * @param graph   the compact graph to color
+     * @param kmax    the maximum number of colors to use
+     * @param ranks   the tie-breaking rank of each node among the nodes of the same degree
+     * @param threads the number of worker threads, a single thread coloring every round on the calling thread
+     * @param monitor the monitor of the run, checked between rounds, the remaining nodes being left uncolored when
+     *                it is cancelled
+     * @return the color of each node, -1 for uncolored nodes
+     */
+    static int[] color(CompactGraph graph, int kmax, int[] ranks, int threads, ColoringMonitor monitor) {
+        ForkJoinPool pool = Workers.pool(threads);
+        try {
+            return color(graph, kmax, ranks, pool, threads, monitor);
+        } finally {
+            Workers.shutdown(pool);
+        }
+    }
+
+    private static int[] color(CompactGraph graph, int kmax, int[] ranks, ForkJoinPool pool, int threads,
+                               ColoringMonitor monitor) {
+        int nodeCount = graph.getNodeCount();
+        int[] colors = new int[nodeCount];
+        Arrays.fill(colors, -1);
+        int words = ColorBitset.words(kmax);
+        ThreadLocal<long[]> forbidden = ThreadLocal.withInitial(() -> new long[words]);
+
+        // Count for each node its neighbors of higher priority, the nodes without any forming the first round
+        AtomicIntegerArray waiting = new AtomicIntegerArray(nodeCount);
+        forEach(pool, threads, nodeCount, node -> {
+            int count = 0;
+            for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+                if (before(graph, ranks, graph.neighbors[i], node)) {
+                    count++;
+                }
+            }
+            waiting.set(node, count);
+        });
+        int[] round = new int[nodeCount];
+        int roundSize = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (waiting.get(node) == 0) {
+                round[roundSize++] = node;
+            }
+        }
+
+        int[] next = new int[nodeCount];
+        AtomicInteger nextSize = new AtomicInteger();
+        int colored = 0;
+        while (roundSize > 0 && !monitor.checkpoint(colored, 0)) {
+            colored += roundSize;
+            int[] current = round;
+            forEach(pool, threads, roundSize, j -> colorNode(graph, current[j], colors, forbidden.get(), words, kmax));
+
+            // Release the neighbors of lower priority, those with no higher neighbor left forming the next round
+            int[] released = next;
+            nextSize.set(0);
+            forEach(pool, threads, roundSize, j -> {
+                int node = current[j];
+                for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+                    int neighbor = graph.neighbors[i];
+                    if (before(graph, ranks, node, neighbor) && waiting.decrementAndGet(neighbor) == 0) {
+                        released[nextSize.getAndIncrement()] = neighbor;
+                    }
+                }
+            });
+            roundSize = nextSize.get();
+            next = round;
+            round = released;
+        }
+        return colors;
+    }
+
+    /**
+     * Gives a node the smallest color not used by its neighbors, all of its higher priority neighbors being done.
+     */
+    private static void colorNode(CompactGraph graph, int node, int[] colors, long[] forbidden, int words, int kmax) {
+        for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+            int color = colors[graph.neighbors[i]];
+            if (color != -1) {
+                forbidden[color >>> 6] |= 1L << color;
+            }
+        }
+        int colorIndex = ColorBitset.firstFreeColor(forbidden, 0, words, kmax);
+
+        // Only clear the words that were touched, as in the Welsh-Powell pass
+        for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+            int color = colors[graph.neighbors[i]];
+            if (color != -1) {
+                forbidden[color >>> 6] = 0;
+            }
+        }
+        colors[node] = colorIndex;
+    }
+
+    /**
+     * Returns whether node a has a higher priority than node b.
+     */
+    private static boolean before(CompactGraph graph, int[] ranks, int a, int b) {
+        if (graph.degrees[a] != graph.degrees[b]) {
+            return graph.degrees[a] > graph.degrees[b];
+        }
+        return ranks[a] > ranks[b];
+    }
+
+    /**
+     * Runs an action on the indices 0 to size - 1, split into one range per thread of the pool for large sizes.
+     * The action must only write to locations that no other index reads during the same call.
+     */
+    private static void forEach(ForkJoinPool pool, int threads, int size, IntConsumer action) {
+        if (pool == null || size < PARALLEL_THRESHOLD) {
+            for (int j = 0; j < size; j++) {
+                action.accept(j);
+            }
+            return;
+        }
+        int chunk = (size + threads - 1) / threads;
+        List<ForkJoinTask<Object>> tasks = new ArrayList<>();
+        for (int from = 0; from < size; from += chunk) {
+            int start = from;
+            int end = Math.min(size, from + chunk);
+            tasks.add(Workers.submit(pool, () -> {
+                for (int j = start; j < end; j++) {
+                    action.accept(j);
+                }
+                return null;
+            }));
+        }
+        for (ForkJoinTask<Object> task : tasks) {
+            task.join();
+        }
+    }
+}
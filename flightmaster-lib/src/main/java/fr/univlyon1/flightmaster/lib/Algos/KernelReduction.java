@@ -0,0 +1,98 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Reduction of a coloring problem to the kmax-core of the graph. A node with fewer than kmax neighbors left can
+ * always get a free color once all its remaining neighbors are colored, so such nodes are peeled off one after the
+ * other, each removal lowering the degree of its neighbors. Only the kernel left is colored by the chosen algorithm,
+ * and the peeled nodes are then put back in reverse order with their smallest free color, adding no conflict.
+ */
+final class KernelReduction {
+
+    private KernelReduction() {
+    }
+
+    /**
+     * Returns the nodes that can be peeled off a compact graph, in the order they are removed.
+     * Since the threshold is fixed, the bucket of the nodes under it is a plain queue and the peeling is O(n + m).
+     *
+     * @param graph the compact graph
+     * @param kmax  the maximum number of colors
+     * @return the peeled nodes in removal order
+     */
+    static int[] peel(CompactGraph graph, int kmax) {
+        int nodeCount = graph.getNodeCount();
+        int[] remaining = new int[nodeCount];
+        int[] queue = new int[nodeCount];
+        int end = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            remaining[node] = graph.offsets[node + 1] - graph.offsets[node];
+            if (remaining[node] < kmax) {
+                queue[end++] = node;
+            }
+        }
+        for (int head = 0; head < end; head++) {
+            int node = queue[head];
+            for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+                // Only the neighbors still in the graph can drop under the threshold
+                if (--remaining[graph.neighbors[i]] == kmax - 1) {
+                    queue[end++] = graph.neighbors[i];
+                }
+            }
+        }
+        return Arrays.copyOf(queue, end);
+    }
+
+    /**
+     * Colors a compact graph by coloring its kernel with the given algorithm, then putting the peeled nodes back.
+     *
+     * @param graph     the compact graph to color
+     * @param kmax      the maximum number of colors to use
+     * @param algorithm the algorithm coloring the kernel
+     * @param random    the source of randomness of the algorithm, or null for its deterministic version
+     * @param seed      the seed of random, recorded in the result
+     * @param monitor   the monitor of the run of the algorithm on the kernel
+     * @return the coloring, with the conflicts of the kernel
+     */
+    static ColoringResult color(CompactGraph graph, int kmax, ColoringAlgorithm algorithm, Random random, long seed,
+                                ColoringMonitor monitor) {
+        int nodeCount = graph.getNodeCount();
+        int[] peeled = peel(graph, kmax);
+        int[] colors = new int[nodeCount];
+        Arrays.fill(colors, -1);
+
+        int conflicts = 0;
+        if (peeled.length < nodeCount) {
+            int[] localIndices = new int[nodeCount];
+            Arrays.fill(localIndices, -1);
+            boolean[] isPeeled = new boolean[nodeCount];
+            for (int node : peeled) {
+                isPeeled[node] = true;
+            }
+            int[] kernel = new int[nodeCount - peeled.length];
+            int kernelSize = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                if (!isPeeled[node]) {
+                    kernel[kernelSize++] = node;
+                }
+            }
+
+            ColoringResult kernelResult = algorithm.color(graph.induced(kernel, localIndices), kmax, random, seed, monitor);
+            int[] kernelColors = kernelResult.colors();
+            for (int i = 0; i < kernelSize; i++) {
+                colors[kernel[i]] = kernelColors[i];
+            }
+            conflicts = kernelResult.getConflicts();
+        }
+
+        // Each peeled node had fewer than kmax neighbors colored before it in the reverse order, so one color is free
+        int[] reversed = new int[peeled.length];
+        for (int i = 0; i < peeled.length; i++) {
+            reversed[i] = peeled[peeled.length - 1 - i];
+        }
+        WelshPowell.extend(graph, reversed, colors, kmax);
+        return new ColoringResult(colors, conflicts, algorithm, seed);
+    }
+}
@@ -0,0 +1,90 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parallel multi-start portfolio of randomized greedy colorings.
+ * Every start draws a constructive algorithm and its random tie-breaking from its own seed, so that the winning
+ * start can be replayed from its seed alone. The workers of a fork-join pool keep running starts until the
+ * time budget is spent or a coloring reaching the lower bound on the conflicts is found, and the best coloring is kept.
+ */
+final class MultiStart {
+
+    /**
+     * Algorithms the starts are drawn from, the sequential greedy ones being cheap enough to run many times.
+     */
+    private static final ColoringAlgorithm[] ALGORITHMS = {
+            ColoringAlgorithm.WELSH_POWELL, ColoringAlgorithm.DSATUR, ColoringAlgorithm.RECURSIVE_LARGEST_FIRST
+    };
+
+    private MultiStart() {
+    }
+
+    /**
+     * Runs a single randomized start.
+     *
+     * @param graph   the compact graph to color
+     * @param kmax    the maximum number of colors to use
+     * @param seed    the seed of the start
+     * @param monitor the monitor of the run
+     * @return the coloring of the start
+     */
+    static ColoringResult start(CompactGraph graph, int kmax, long seed, ColoringMonitor monitor) {
+        Random random = new Random(seed);
+        ColoringAlgorithm algorithm = ALGORITHMS[random.nextInt(ALGORITHMS.length)];
+        return algorithm.color(graph, kmax, random, seed, monitor);
+    }
+
+    /**
+     * Runs randomized starts on the given number of threads until the deadline, each thread running at least one.
+     *
+     * @param graph         the compact graph to color
+     * @param kmax          the maximum number of colors to use
+     * @param threads       the number of worker threads
+     * @param deadlineNanos the System.nanoTime() value after which no new start is launched
+     * @param seed          the seed of the first start, the following ones using the next values
+     * @param target        the number of conflicts at which the search stops, known to be the best possible
+     * @param monitor       the monitor of the run, no new start being launched once it is cancelled
+     * @return the coloring with the fewest conflicts, the lowest seed winning ties, with the number of starts run
+     */
+    static ColoringResult run(CompactGraph graph, int kmax, int threads, long deadlineNanos, long seed, int target,
+                              ColoringMonitor monitor) {
+        AtomicLong nextSeed = new AtomicLong(seed);
+        ColoringResult[] best = new ColoringResult[1];
+
+        ForkJoinPool pool = Workers.pool(threads);
+        try {
+            List<ForkJoinTask<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(Workers.submit(pool, () -> {
+                    do {
+                        ColoringResult result = start(graph, kmax, nextSeed.getAndIncrement(), monitor);
+                        synchronized (best) {
+                            if (best[0] == null || result.getConflicts() < best[0].getConflicts()
+                                    || (result.getConflicts() == best[0].getConflicts() && result.getSeed() < best[0].getSeed())) {
+                                best[0] = result;
+                            }
+                            if (best[0].getConflicts() <= target) {
+                                return null;
+                            }
+                        }
+                    } while (System.nanoTime() - deadlineNanos < 0 && !monitor.isStopped());
+                    return null;
+                }));
+            }
+            for (ForkJoinTask<?> worker : workers) {
+                worker.join();
+            }
+        } finally {
+            Workers.shutdown(pool);
+        }
+        ColoringResult result = best[0];
+        return new ColoringResult(result.colors(), result.getConflicts(), result.getAlgorithm(), result.getSeed(),
+                result.getConflicts() <= target, nextSeed.get() - seed);
+    }
+}
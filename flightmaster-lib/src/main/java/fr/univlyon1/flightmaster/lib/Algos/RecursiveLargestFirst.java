@@ -0,0 +1,149 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.Arrays;
+
+/**
+ * Recursive Largest First engine working on a compact graph, following Leighton's selection rule.
+ * Each color class starts with the uncolored node having the most uncolored neighbors. The class then keeps
+ * taking, among the candidates (uncolored nodes with no neighbor in the class), the one with the most neighbors
+ * in the excluded set (uncolored nodes adjacent to the class), ties going to the one with the fewest candidate
+ * neighbors. Any remaining tie, for the first node of a class as for the others, goes to the highest index, or to
+ * the highest rank when random ranks are given.
+ * Membership is tracked with a state per node and both neighbor counts are updated incrementally, candidates
+ * being kept in an indexed heap, so that building one class costs O(n + m log n).
+ */
+final class RecursiveLargestFirst {
+
+    private static final byte CANDIDATE = 0;
+    private static final byte EXCLUDED = 1;
+    private static final byte COLORED = 2;
+
+    private RecursiveLargestFirst() {
+    }
+
+    /**
+     * Colors the nodes of a compact graph class by class, leaving -1 on the nodes that do not fit
+     * in the first kmax classes.
+     *
+     * @param graph   the compact graph to color
+     * @param kmax    the maximum number of colors to use
+     * @param ranks   the tie-breaking rank of each node, or null to use the node indices
+     * @param monitor the monitor of the run, the remaining nodes being left uncolored when it is cancelled
+     * @return the color of each node, -1 for uncolored nodes
+     */
+    static int[] color(CompactGraph graph, int kmax, int[] ranks, ColoringMonitor monitor) {
+        int nodeCount = graph.getNodeCount();
+        int[] colors = new int[nodeCount];
+        Arrays.fill(colors, -1);
+
+        byte[] states = new byte[nodeCount];
+        int[] uncoloredDegree = new int[nodeCount];
+        int[] candidateDegree = new int[nodeCount];
+        int[] excludedDegree = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            uncoloredDegree[node] = graph.offsets[node + 1] - graph.offsets[node];
+        }
+
+        int[] uncolored = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            uncolored[node] = node;
+        }
+        int uncoloredCount = nodeCount;
+        int colored = 0;
+        IndexedHeap candidates = new IndexedHeap(nodeCount, ranks);
+
+        for (int colorIndex = 1; colorIndex <= kmax && uncoloredCount > 0; colorIndex++) {
+            // Every uncolored node starts as a candidate, the class is seeded with the one of maximum degree
+            int first = uncolored[0];
+            for (int j = 0; j < uncoloredCount; j++) {
+                int node = uncolored[j];
+                states[node] = CANDIDATE;
+                candidateDegree[node] = uncoloredDegree[node];
+                excludedDegree[node] = 0;
+                // Ties go to the highest rank, as in the heap that picks the other nodes of the class
+                if (uncoloredDegree[node] > uncoloredDegree[first]
+                        || (uncoloredDegree[node] == uncoloredDegree[first] && rank(ranks, node) > rank(ranks, first))) {
+                    first = node;
+                }
+            }
+            for (int j = 0; j < uncoloredCount; j++) {
+                int node = uncolored[j];
+                if (node != first) {
+                    candidates.insert(node, key(0, candidateDegree[node]));
+                }
+            }
+
+            int node = first;
+            while (true) {
+                addToClass(graph, node, colorIndex, colors, states, uncoloredDegree, candidateDegree, excludedDegree, candidates);
+                if (ColoringMonitor.isCheckpoint(++colored) && monitor.checkpoint(colored, 0)) {
+                    // The nodes not in a class yet are completed afterwards
+                    return colors;
+                }
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                node = candidates.poll();
+            }
+
+            // Keep the nodes still uncolored for the next class
+            int kept = 0;
+            for (int j = 0; j < uncoloredCount; j++) {
+                if (states[uncolored[j]] != COLORED) {
+                    uncolored[kept++] = uncolored[j];
+                }
+            }
+            uncoloredCount = kept;
+        }
+        return colors;
+    }
+
+    /**
+     * Adds a node to the current color class, moves its candidate neighbors to the excluded set and updates
+     * the neighbor counts of the remaining candidates.
+     */
+    private static void addToClass(CompactGraph graph, int node, int colorIndex, int[] colors, byte[] states,
+                                   int[] uncoloredDegree, int[] candidateDegree, int[] excludedDegree,
+                                   IndexedHeap candidates) {
+        colors[node] = colorIndex;
+        states[node] = COLORED;
+        for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+            int neighbor = graph.neighbors[i];
+            uncoloredDegree[neighbor]--;
+            if (states[neighbor] != CANDIDATE) {
+                continue;
+            }
+
+            // The neighbor can no longer join the class
+            states[neighbor] = EXCLUDED;
+            candidates.remove(neighbor);
+            for (int k = graph.offsets[neighbor]; k < graph.offsets[neighbor + 1]; k++) {
+                int other = graph.neighbors[k];
+                if (states[other] == CANDIDATE && candidates.contains(other)) {
+                    excludedDegree[other]++;
+                    candidateDegree[other]--;
+                    candidates.update(other, key(excludedDegree[other], candidateDegree[other]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tie-breaking rank of a node, its index when no ranks are given, as in IndexedHeap.
+     */
+    private static int rank(int[] ranks, int node) {
+        return ranks == null ? node : ranks[node];
+    }
+
+    /**
+     * Packs the neighbor counts of a candidate into a heap priority, favoring the most excluded neighbors
+     * first, then the fewest candidate neighbors.
+     *
+     * @param excludedDegree  the number of neighbors in the excluded set
+     * @param candidateDegree the number of neighbors among the candidates
+     * @return the heap priority
+     */
+    private static long key(int excludedDegree, int candidateDegree) {
+        return ((long) excludedDegree << 32) | (Integer.MAX_VALUE - candidateDegree);
+    }
+}
@@ -0,0 +1,199 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.Random;
+
+/**
+ * Tabucol local search (Hertz and de Werra, with the dynamic tabu tenure of Galinier and Hao) working on a
+ * compact graph. Each iteration moves one conflicting node to the color giving the best conflict delta among
+ * the non-tabu moves, the previous color of the node then being tabu for a number of iterations that grows
+ * with the number of conflicting nodes. The deltas are read from a gamma matrix counting the neighbors of each
+ * node in each color, which is updated in O(deg) after every move.
+ */
+final class Tabucol {
+
+    private Tabucol() {
+    }
+
+    /**
+     * Returns whether the gamma matrix of a graph with the given number of nodes fits in memory.
+     *
+     * @param nodeCount the number of nodes
+     * @param kmax      the maximum number of colors
+     * @return true if Tabucol can run on such a graph
+     */
+    static boolean fits(int nodeCount, int kmax) {
+        return ConflictTable.size(nodeCount, kmax) <= Integer.MAX_VALUE - 8;
+    }
+
+    /**
+     * Counts the edges whose two ends have the same color.
+     *
+     * @param graph  the compact graph
+     * @param colors the color of each node
+     * @return the number of conflicting edges
+     */
+    static int countConflicts(CompactGraph graph, int[] colors) {
+        int conflicts = 0;
+        for (int node = 0; node < colors.length; node++) {
+            for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+                int neighbor = graph.neighbors[i];
+                if (neighbor > node && colors[neighbor] == colors[node]) {
+                    conflicts++;
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Improves a complete coloring until it has no conflict, the deadline is reached or the run is cancelled.
+     * The colors array is updated in place with the best coloring found.
+     *
+     * @param graph          the compact graph
+     * @param colors         the color of each node, between 1 and kmax
+     * @param kmax           the maximum number of colors
+     * @param deadlineNanos  the System.nanoTime() value at which the search stops
+     * @param seed           the seed of the random tenure and tie-breaking
+     * @param monitor        the monitor of the run
+     * @return the best coloring found, with the number of moves made
+     */
+    static ColoringResult improve(CompactGraph graph, int[] colors, int kmax, long deadlineNanos, long seed, ColoringMonitor monitor) {
+        return improve(graph, colors, kmax, deadlineNanos, Integer.MAX_VALUE, seed, monitor);
+    }
+
+    /**
+     * Improves a complete coloring as the other improve does, making at most the given number of moves.
+     *
+     * @param graph          the compact graph
+     * @param colors         the color of each node, between 1 and kmax
+     * @param kmax           the maximum number of colors
+     * @param deadlineNanos  the System.nanoTime() value at which the search stops
+     * @param maxMoves       the number of moves after which the search stops
+     * @param seed           the seed of the random tenure and tie-breaking
+     * @param monitor        the monitor of the run
+     * @return the best coloring found, with the number of moves made
+     */
+    static ColoringResult improve(CompactGraph graph, int[] colors, int kmax, long deadlineNanos, int maxMoves, long seed,
+                                  ColoringMonitor monitor) {
+        int nodeCount = graph.getNodeCount();
+        int conflicts = countConflicts(graph, colors);
+        if (conflicts == 0 || kmax < 2 || !fits(nodeCount, kmax)) {
+            return new ColoringResult(colors, conflicts, null, seed);
+        }
+        Random random = new Random(seed);
+
+        int[] allNodes = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            allNodes[node] = node;
+        }
+        ConflictTable gamma = new ConflictTable(graph, colors, allNodes, nodeCount, kmax);
+        int[] tabuUntil = new int[nodeCount * kmax];
+
+        // Nodes having at least one neighbor of their own color, with their position in the list
+        int[] conflicting = new int[nodeCount];
+        int[] positions = new int[nodeCount];
+        int conflictingCount = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            positions[node] = -1;
+            if (gamma.count(node, colors[node]) > 0) {
+                positions[node] = conflictingCount;
+                conflicting[conflictingCount++] = node;
+            }
+        }
+
+        int[] best = colors.clone();
+        int bestConflicts = conflicts;
+
+        int iteration;
+        for (iteration = 1; conflicts > 0 && iteration < Integer.MAX_VALUE && iteration <= maxMoves; iteration++) {
+            // An iteration scans every conflicting node in every color, so the deadline is checked before each one,
+            // the progress only being reported at the checkpoints
+            if (System.nanoTime() - deadlineNanos >= 0 || monitor.isStopped()
+                    || (ColoringMonitor.isCheckpoint(iteration) && monitor.checkpoint(nodeCount, conflicts))) {
+                break;
+            }
+
+            // Find the best non-tabu move, or a tabu one improving on the best coloring (aspiration)
+            int moveNode = -1;
+            int moveColor = -1;
+            int moveDelta = Integer.MAX_VALUE;
+            int ties = 0;
+            for (int j = 0; j < conflictingCount; j++) {
+                int node = conflicting[j];
+                int current = gamma.count(node, colors[node]);
+                for (int color = 1; color <= kmax; color++) {
+                    if (color == colors[node]) {
+                        continue;
+                    }
+                    int delta = gamma.count(node, color) - current;
+                    if (delta > moveDelta) {
+                        continue;
+                    }
+                    boolean tabu = tabuUntil[node * kmax + color - 1] > iteration;
+                    if (tabu && conflicts + delta >= bestConflicts) {
+                        continue;
+                    }
+                    if (delta < moveDelta) {
+                        moveDelta = delta;
+                        ties = 0;
+                    }
+                    // Uniform choice among the moves with the best delta
+                    if (random.nextInt(++ties) == 0) {
+                        moveNode = node;
+                        moveColor = color;
+                    }
+                }
+            }
+            if (moveNode == -1) {
+                // Every move is tabu, take a random one
+                moveNode = conflicting[random.nextInt(conflictingCount)];
+                moveColor = 1 + random.nextInt(kmax - 1);
+                if (moveColor >= colors[moveNode]) {
+                    moveColor++;
+                }
+                moveDelta = gamma.count(moveNode, moveColor) - gamma.count(moveNode, colors[moveNode]);
+            }
+
+            // Apply the move and make the previous color tabu for this node
+            int previous = colors[moveNode];
+            tabuUntil[moveNode * kmax + previous - 1] = iteration + random.nextInt(10) + (int) (0.6 * conflictingCount);
+            colors[moveNode] = moveColor;
+            gamma.colorRemoved(graph, moveNode, previous);
+            gamma.colorAdded(graph, moveNode, moveColor);
+            conflicts += moveDelta;
+
+            conflictingCount = refreshConflicting(gamma, colors, moveNode, conflicting, positions, conflictingCount);
+            for (int i = graph.offsets[moveNode]; i < graph.offsets[moveNode + 1]; i++) {
+                conflictingCount = refreshConflicting(gamma, colors, graph.neighbors[i], conflicting, positions, conflictingCount);
+            }
+
+            if (conflicts < bestConflicts) {
+                bestConflicts = conflicts;
+                System.arraycopy(colors, 0, best, 0, nodeCount);
+            }
+        }
+
+        System.arraycopy(best, 0, colors, 0, nodeCount);
+        return new ColoringResult(colors, bestConflicts, null, seed, bestConflicts == 0, iteration - 1);
+    }
+
+    /**
+     * Adds a node to or removes it from the list of conflicting nodes according to the gamma matrix.
+     *
+     * @return the new number of conflicting nodes
+     */
+    private static int refreshConflicting(ConflictTable gamma, int[] colors, int node, int[] conflicting,
+                                          int[] positions, int conflictingCount) {
+        boolean isConflicting = gamma.count(node, colors[node]) > 0;
+        if (isConflicting && positions[node] == -1) {
+            positions[node] = conflictingCount;
+            conflicting[conflictingCount++] = node;
+        } else if (!isConflicting && positions[node] != -1) {
+            int last = conflicting[--conflictingCount];
+            conflicting[positions[node]] = last;
+            positions[last] = positions[node];
+            positions[node] = -1;
+        }
+        return conflictingCount;
+    }
+}
@@ -0,0 +1,98 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.Arrays;
+
+/**
+ * Recoloring of a compact graph from a previous coloring, after kmax changed or the graph was colored with
+ * another kmax. The nodes keeping a color between 1 and kmax keep it, those of the removed colors or without
+ * color get their least conflicting color by decreasing degree, then each of these nodes left in conflict is moved
+ * to its least conflicting color as long as this lowers the number of conflicts, the neighbors it now conflicts with
+ * being repaired in turn. The conflicts between kept nodes that the change of kmax did not touch are left as they
+ * were. Each step only looks at the neighbors of a node, so the recoloring costs O(n + m) plus the moves, instead of
+ * a full run of an algorithm.
+ */
+final class WarmStart {
+
+    private WarmStart() {
+    }
+
+    /**
+     * Recolors a compact graph from a previous coloring.
+     *
+     * @param graph    the compact graph to color
+     * @param previous the previous color of each node, any value outside 1 to kmax marking a node to recolor
+     * @param kmax     the maximum number of colors to use
+     * @return the coloring, with the number of nodes moved by the repair as iterations
+     */
+    static ColoringResult recolor(CompactGraph graph, int[] previous, int kmax) {
+        int nodeCount = graph.getNodeCount();
+        int[] colors = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            colors[node] = previous[node] >= 1 && previous[node] <= kmax ? previous[node] : -1;
+        }
+        Coloring.colorizeUncoloredNodesWithMinConflicts(graph, WelshPowell.degreeOrder(graph), colors, kmax);
+
+        // Repair the recolored nodes in conflict, each move strictly lowering the number of conflicts so that the
+        // repair ends
+        int[] queue = new int[nodeCount];
+        boolean[] queued = new boolean[nodeCount];
+        int head = 0;
+        int size = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            boolean recolored = previous[node] < 1 || previous[node] > kmax;
+            if (recolored && hasConflict(graph, colors, node)) {
+                queue[size++] = node;
+                queued[node] = true;
+            }
+        }
+        int[] counts = new int[kmax + 1];
+        long moves = 0;
+        while (size > 0) {
+            int node = queue[head];
+            head = (head + 1) % nodeCount;
+            size--;
+            queued[node] = false;
+
+            for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+                counts[colors[graph.neighbors[i]]]++;
+            }
+            int current = colors[node];
+            int best = 1;
+            for (int c = 2; c <= kmax && counts[best] > 0; c++) {
+                if (counts[c] < counts[best]) {
+                    best = c;
+                }
+            }
+            boolean improves = counts[best] < counts[current];
+            Arrays.fill(counts, 0);
+            if (!improves) {
+                continue;
+            }
+
+            colors[node] = best;
+            moves++;
+            for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+                int neighbor = graph.neighbors[i];
+                if (colors[neighbor] == best && !queued[neighbor]) {
+                    queue[(head + size) % nodeCount] = neighbor;
+                    size++;
+                    queued[neighbor] = true;
+                }
+            }
+        }
+        int conflicts = Tabucol.countConflicts(graph, colors);
+        return new ColoringResult(colors, conflicts, null, 0, conflicts == 0, moves);
+    }
+
+    /**
+     * Returns whether a node has a neighbor of its own color.
+     */
+    private static boolean hasConflict(CompactGraph graph, int[] colors, int node) {
+        for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+            if (colors[graph.neighbors[i]] == colors[node]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
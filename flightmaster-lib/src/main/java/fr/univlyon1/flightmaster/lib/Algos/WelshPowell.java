@@ -0,0 +1,146 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Single-pass Welsh-Powell engine working on a compact graph.
+ * Every node, taken by decreasing degree, gets the smallest color between 1 and kmax not used by its
+ * already colored neighbors, found through a reusable bitset of forbidden colors. This gives exactly the
+ * color classes of the classic formulation sweeping the whole ordering once per color, in O(n + m + n * kmax / 64)
+ * instead of O(kmax * m).
+ */
+final class WelshPowell {
+
+    private WelshPowell() {
+    }
+
+    /**
+     * Returns the node indices of a compact graph sorted by decreasing degree, ties being kept in index order
+     * as Toolkit.degreeMap does. The sort is a stable counting sort in O(n + maximum degree).
+     *
+     * @param graph the compact graph
+     * @return the node indices in decreasing degree order
+     */
+    static int[] degreeOrder(CompactGraph graph) {
+        int nodeCount = graph.getNodeCount();
+        int maxDegree = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            maxDegree = Math.max(maxDegree, graph.degrees[node]);
+        }
+
+        // Count the nodes of each degree, then place them starting from the highest degree
+        int[] starts = new int[maxDegree + 2];
+        for (int node = 0; node < nodeCount; node++) {
+            starts[maxDegree - graph.degrees[node] + 1]++;
+        }
+        for (int d = 1; d < starts.length; d++) {
+            starts[d] += starts[d - 1];
+        }
+        int[] order = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            order[starts[maxDegree - graph.degrees[node]]++] = node;
+        }
+        return order;
+    }
+
+    /**
+     * Returns the node indices of a compact graph sorted by decreasing degree after adding a random 0 or 1 to each
+     * degree, ties being broken randomly, so that nodes of close degrees can swap places from one call to another.
+     *
+     * @param graph  the compact graph
+     * @param random the source of randomness
+     * @return the node indices in perturbed decreasing degree order
+     */
+    static int[] randomizedDegreeOrder(CompactGraph graph, Random random) {
+        int nodeCount = graph.getNodeCount();
+        int[] shuffled = IndexedHeap.randomRanks(nodeCount, random);
+        int[] perturbed = new int[nodeCount];
+        int maxDegree = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            perturbed[node] = graph.degrees[node] + random.nextInt(2);
+            maxDegree = Math.max(maxDegree, perturbed[node]);
+        }
+
+        // Stable counting sort of the shuffled nodes, as in degreeOrder
+        int[] starts = new int[maxDegree + 2];
+        for (int node = 0; node < nodeCount; node++) {
+            starts[maxDegree - perturbed[node] + 1]++;
+        }
+        for (int d = 1; d < starts.length; d++) {
+            starts[d] += starts[d - 1];
+        }
+        int[] order = new int[nodeCount];
+        for (int node : shuffled) {
+            order[starts[maxDegree - perturbed[node]]++] = node;
+        }
+        return order;
+    }
+
+    /**
+     * Colors the nodes of a compact graph in the given order, leaving -1 on the nodes for which no color
+     * between 1 and kmax is free.
+     *
+     * @param graph   the compact graph to color
+     * @param order   the order in which the nodes are colored
+     * @param kmax    the maximum number of colors to use
+     * @param monitor the monitor of the run, the remaining nodes being left uncolored when it is cancelled
+     * @return the color of each node, -1 for uncolored nodes
+     */
+    static int[] color(CompactGraph graph, int[] order, int kmax, ColoringMonitor monitor) {
+        int[] colors = new int[graph.getNodeCount()];
+        Arrays.fill(colors, -1);
+        extend(graph, order, colors, kmax, monitor);
+        return colors;
+    }
+
+    /**
+     * Colors the given nodes of a partially colored compact graph in order, each one taking the smallest color
+     * between 1 and kmax not used by its already colored neighbors, or -1 if there is none.
+     *
+     * @param graph  the compact graph to color
+     * @param order  the nodes to color, in the order in which they are colored
+     * @param colors the current colors of the nodes, -1 for uncolored nodes, updated in place
+     * @param kmax   the maximum number of colors to use
+     */
+    static void extend(CompactGraph graph, int[] order, int[] colors, int kmax) {
+        extend(graph, order, colors, kmax, ColoringMonitor.NONE);
+    }
+
+    /**
+     * Colors the given nodes of a partially colored compact graph in order, as extend does, until the run is
+     * cancelled.
+     *
+     * @param graph   the compact graph to color
+     * @param order   the nodes to color, in the order in which they are colored
+     * @param colors  the current colors of the nodes, -1 for uncolored nodes, updated in place
+     * @param kmax    the maximum number of colors to use
+     * @param monitor the monitor of the run, the remaining nodes being left uncolored when it is cancelled
+     */
+    static void extend(CompactGraph graph, int[] order, int[] colors, int kmax, ColoringMonitor monitor) {
+        int words = ColorBitset.words(kmax);
+        long[] forbidden = new long[words];
+
+        for (int j = 0; j < order.length; j++) {
+            if (ColoringMonitor.isCheckpoint(j) && monitor.checkpoint(j, 0)) {
+                return;
+            }
+            int node = order[j];
+            for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+                int color = colors[graph.neighbors[i]];
+                if (color != -1) {
+                    forbidden[color >>> 6] |= 1L << color;
+                }
+            }
+            colors[node] = ColorBitset.firstFreeColor(forbidden, 0, words, kmax);
+
+            // Only clear the words that were touched, to keep the pass linear in the number of edges
+            for (int i = graph.offsets[node]; i < graph.offsets[node + 1]; i++) {
+                int color = colors[graph.neighbors[i]];
+                if (color != -1) {
+                    forbidden[color >>> 6] = 0;
+                }
+            }
+        }
+    }
+}
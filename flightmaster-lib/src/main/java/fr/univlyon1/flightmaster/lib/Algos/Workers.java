@@ -0,0 +1,46 @@
+package fr.univlyon1.flightmaster.lib.Algos;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Worker threads of the engines that split their work over several threads.
+ * A run given a single thread has no pool and runs its tasks on the calling thread, so that a caller running several
+ * runs at a time on its own threads does not start any more threads.
+ */
+final class Workers {
+
+    private Workers() {
+    }
+
+    /**
+     * Returns a pool of the given number of threads, or null for a single thread.
+     */
+    static ForkJoinPool pool(int threads) {
+        return threads == 1 ? null : new ForkJoinPool(threads);
+    }
+
+    /**
+     * Submits a task to the pool, or runs it on the calling thread when there is no pool.
+     *
+     * @return the task, to be joined
+     */
+    static <T> ForkJoinTask<T> submit(ForkJoinPool pool, Callable<T> task) {
+        if (pool == null) {
+            ForkJoinTask<T> inline = ForkJoinTask.adapt(task);
+            inline.invoke();
+            return inline;
+        }
+        return pool.submit(task);
+    }
+
+    /**
+     * Stops the threads of the pool, if any.
+     */
+    static void shutdown(ForkJoinPool pool) {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package fr.univlyon1.flightmaster.lib.IO;
 
+import fr.univlyon1.flightmaster.lib.Algos.ColoringResult;
 import fr.univlyon1.flightmaster.lib.Exception.CSVParsingException;
 import fr.univlyon1.flightmaster.lib.Exception.GraphExportException;
 import fr.univlyon1.flightmaster.lib.Exception.GraphParsingException;
@@ -7,6 +8,8 @@ import fr.univlyon1.flightmaster.lib.Exception.StatsExportException;
 import fr.univlyon1.flightmaster.lib.Models.Airport;
 import fr.univlyon1.flightmaster.lib.Models.Flight;
 import fr.univlyon1.flightmaster.lib.Models.Point;
+import fr.univlyon1.flightmaster.lib.Models.TrialReport;
+import fr.univlyon1.flightmaster.lib.Utils.FlightGraphBuilderUtil;
 import fr.univlyon1.flightmaster.lib.Utils.GeoConverterUtil;
 import fr.univlyon1.flightmaster.lib.Utils.GraphStatsUtil;
 import org.apache.commons.csv.CSVFormat;
@@ -152,8 +155,6 @@ public class IOService {
         try {
             Path path = Paths.get(pathStr);
             graph = new MultiGraph(path.getFileName().toString());
-            graph.setAttribute("ui.antialias");
-            graph.setAttribute("ui.quality");
             List<String> allLines = Files.readAllLines(path);
 
             for (int i = 0; i < allLines.size(); i++) {
@@ -166,19 +167,16 @@ public class IOService {
                     if (edge.length != 2)
                         throw new GraphParsingException("Invalid number of columns in Graph file");
 
+                    // Only the topology is stored, labels and styles being set by GraphStyleUtil when displayed
                     if (graph.getNode(edge[0]) == null) {
                         graph.addNode(edge[0]);
-                        graph.getNode(edge[0]).setAttribute("ui.label", edge[0]);
-                        graph.getNode(edge[0]).setAttribute("ui.style", "text-size: 1; text-color: #808080;");
                     }
 
                     if (graph.getNode(edge[1]) == null) {
                         graph.addNode(edge[1]);
-                        graph.getNode(edge[1]).setAttribute("ui.label", edge[1]);
-                        graph.getNode(edge[1]).setAttribute("ui.style", "text-size: 1; text-color: #808080;");
                     }
 
-                    graph.addEdge(edge[0] + "-" + edge[1], edge[0], edge[1]);
+                    FlightGraphBuilderUtil.addEdge(graph, edge[0], edge[1]);
                 }
             }
         } catch (Exception e) {
@@ -210,6 +208,30 @@ public class IOService {
         }
     }
 
+    /**
+     * Exports a coloring of a graph to a text file, without reading the attributes of the graph.
+     *
+     * @param graph   Graph the coloring was computed on, giving the node ids.
+     * @param result  Coloring to export.
+     * @param pathStr Path to the output text file.
+     * @throws GraphExportException If there is an error exporting the graph coloring.
+     */
+    public static void exportGraphColoring(Graph graph, ColoringResult result, String pathStr) throws GraphExportException {
+        Path path = Paths.get(pathStr);
+        try (BufferedWriter writer = Files.newBufferedWriter(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            for (int i = 0; i < result.getNodeCount(); i++) {
+                writer.write(graph.getNode(i).getId() + "; " + result.getColor(i));
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (Exception e) {
+            throw new GraphExportException("Error while exporting graph file", e);
+        }
+    }
+
     /**
      * Exports conflicts between filenames and their corresponding conflicts count to a CSV file.
      *
@@ -234,6 +256,86 @@ public class IOService {
         }
     }
 
+    /**
+     * Exports the report of the trials of a challenge to a CSV file, one line per trial.
+     *
+     * @param trials  List of trials, in the order of the graphs.
+     * @param pathStr Path to the output CSV file.
+     * @throws StatsExportException If there is an error exporting the report file.
+     */
+    public static void exportTrialReportCsv(List<TrialReport> trials, String pathStr) throws StatsExportException {
+        Path path = Paths.get(pathStr);
+        try (BufferedWriter writer = Files.newBufferedWriter(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            writer.write("graph;algorithm;loadMillis;coloringMillis;conflicts;timedOut;failed;peakHeapBytes;winner");
+            writer.newLine();
+            for (TrialReport trial : trials) {
+                writer.write(trial.getGraph() + ";" + trial.getAlgorithm() + ";" + trial.getLoadMillis() + ";"
+                        + trial.getColoringMillis() + ";" + trial.getConflicts() + ";" + trial.isTimedOut() + ";"
+                        + trial.isFailed() + ";" + trial.getPeakHeapBytes() + ";" + trial.isWinner());
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (Exception e) {
+            throw new StatsExportException("Error while exporting trial report file", e);
+        }
+    }
+
+    /**
+     * Exports the report of the trials of a challenge to a JSON file, as an array with one object per trial.
+     *
+     * @param trials  List of trials, in the order of the graphs.
+     * @param pathStr Path to the output JSON file.
+     * @throws StatsExportException If there is an error exporting the report file.
+     */
+    public static void exportTrialReportJson(List<TrialReport> trials, String pathStr) throws StatsExportException {
+        Path path = Paths.get(pathStr);
+        try (BufferedWriter writer = Files.newBufferedWriter(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            writer.write("[");
+            writer.newLine();
+            for (int i = 0; i < trials.size(); i++) {
+                TrialReport trial = trials.get(i);
+                writer.write("  {\"graph\": " + jsonString(trial.getGraph())
+                        + ", \"algorithm\": " + jsonString(trial.getAlgorithm())
+                        + ", \"loadMillis\": " + trial.getLoadMillis()
+                        + ", \"coloringMillis\": " + trial.getColoringMillis()
+                        + ", \"conflicts\": " + trial.getConflicts()
+                        + ", \"timedOut\": " + trial.isTimedOut()
+                        + ", \"failed\": " + trial.isFailed()
+                        + ", \"peakHeapBytes\": " + trial.getPeakHeapBytes()
+                        + ", \"winner\": " + trial.isWinner() + "}" + (i < trials.size() - 1 ? "," : ""));
+                writer.newLine();
+            }
+            writer.write("]");
+            writer.newLine();
+            writer.flush();
+        } catch (Exception e) {
+            throw new StatsExportException("Error while exporting trial report file", e);
+        }
+    }
+
+    /**
+     * Quotes a string for a JSON file, escaping the quotes, backslashes and control characters.
+     */
+    private static String jsonString(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
     /**
      * Exports statistics of a graph to a CSV file.
      *
@@ -0,0 +1,88 @@
+package fr.univlyon1.flightmaster.lib.Models;
+
+/**
+ * Represents the time budgets of the algorithms run on each graph of a challenge, in milliseconds.
+ * The trials of a graph run at the same time, then the final Tabucol run improves the best coloring, so a graph takes
+ * at most the timeout plus the Tabucol budget when it has enough threads.
+ */
+public class ChallengeBudgets {
+
+    /**
+     * Budgets given to each graph when none are specified.
+     */
+    public static final ChallengeBudgets DEFAULT = new ChallengeBudgets(2_000, 10_000, 20_000, 20_000, 25_000);
+
+    private final long exactMillis; // Budget of the exact solver
+    private final long multiStartMillis; // Budget of the multi-start portfolio
+    private final long hybridEvolutionMillis; // Budget of the hybrid evolutionary algorithm
+    private final long tabucolMillis; // Budget of the final Tabucol run on the best coloring
+    private final long timeoutMillis; // Time after which an algorithm is cancelled and its best coloring so far kept
+
+
+    /**
+     * Creates the budgets of a challenge, each one in milliseconds.
+     *
+     * @throws IllegalArgumentException if a budget is lower than 1 millisecond
+     */
+    public ChallengeBudgets(long exactMillis, long multiStartMillis, long hybridEvolutionMillis, long tabucolMillis,
+                            long timeoutMillis) {
+        if (exactMillis < 1 || multiStartMillis < 1 || hybridEvolutionMillis < 1 || tabucolMillis < 1 || timeoutMillis < 1) {
+            throw new IllegalArgumentException("The budgets must be at least 1 millisecond.");
+        }
+        this.exactMillis = exactMillis;
+        this.multiStartMillis = multiStartMillis;
+        this.hybridEvolutionMillis = hybridEvolutionMillis;
+        this.tabucolMillis = tabucolMillis;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public long getExactMillis() {
+        return exactMillis;
+    }
+
+    public long getMultiStartMillis() {
+        return multiStartMillis;
+    }
+
+    public long getHybridEvolutionMillis() {
+        return hybridEvolutionMillis;
+    }
+
+    public long getTabucolMillis() {
+        return tabucolMillis;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Returns these budgets scaled down so that the given number of graphs fit in the given time, the trials of all
+     * the graphs sharing a pool that runs the given number of trials at a time. The budgets are never scaled up.
+     * A trial lasts at most the timeout, so a graph keeps the pool busy for at most its exact solver, its two searches
+     * and its final Tabucol run, each one cut at the timeout, one after another. The pool then takes at most this
+     * time for each graph divided by the number of trials at a time, plus the longest run of a single graph, which is
+     * the timeout followed by the final Tabucol run.
+     *
+     * @param totalMillis the time the graphs may take together, in milliseconds
+     * @param graphs      the number of graphs
+     * @param parallelism the number of trials run at the same time
+     * @return the scaled budgets
+     * @throws IllegalArgumentException if the number of graphs or the parallelism is lower than 1
+     */
+    public ChallengeBudgets scaledTo(long totalMillis, int graphs, int parallelism) {
+        if (graphs < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("The number of graphs and the parallelism must be at least 1.");
+        }
+        long graphMillis = Math.min(exactMillis, timeoutMillis) + Math.min(multiStartMillis, timeoutMillis)
+                + Math.min(hybridEvolutionMillis, timeoutMillis) + Math.min(tabucolMillis, timeoutMillis);
+        double neededMillis = (double) graphs * graphMillis / parallelism + timeoutMillis + tabucolMillis;
+        double factor = Math.min(1, totalMillis / neededMillis);
+        return new ChallengeBudgets(scale(exactMillis, factor), scale(multiStartMillis, factor),
+                scale(hybridEvolutionMillis, factor), scale(tabucolMillis, factor), scale(timeoutMillis, factor));
+    }
+
+    private static long scale(long millis, double factor) {
+        return Math.max(1, (long) (millis * factor));
+    }
+}
@@ -0,0 +1,77 @@
+package fr.univlyon1.flightmaster.lib.Models;
+
+/**
+ * Represents the run of one algorithm on one graph of a challenge, with its timings, the conflicts of its coloring,
+ * whether it timed out or failed, an estimate of the heap used and whether its coloring is the one exported for the graph.
+ */
+public class TrialReport {
+
+    private final String graph; // Name of the graph file
+    private final String algorithm; // Display name of the algorithm
+    private final long loadMillis; // Time taken to load the graph, in milliseconds
+    private final long coloringMillis; // Time taken by the algorithm, in milliseconds
+    private final int conflicts; // Conflicts of the coloring found, -1 if the algorithm failed
+    private final boolean timedOut; // Whether the algorithm was stopped by its timeout
+    private final boolean failed; // Whether the algorithm threw an exception instead of returning a coloring
+    private final long peakHeapBytes; // Largest heap usage seen around the run, in bytes
+    private boolean winner; // Whether this coloring is the one exported for the graph
+
+
+    public TrialReport(String graph, String algorithm, long loadMillis, long coloringMillis, int conflicts,
+                       boolean timedOut, boolean failed, long peakHeapBytes) {
+        this.graph = graph;
+        this.algorithm = algorithm;
+        this.loadMillis = loadMillis;
+        this.coloringMillis = coloringMillis;
+        this.conflicts = conflicts;
+        this.timedOut = timedOut;
+        this.failed = failed;
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    public String getGraph() {
+        return graph;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    public long getColoringMillis() {
+        return coloringMillis;
+    }
+
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns the largest heap usage of the whole JVM measured before and after the run, the trials running at the
+     * same time sharing the heap.
+     *
+     * @return the heap usage estimate, in bytes
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    public boolean isWinner() {
+        return winner;
+    }
+
+    public void setWinner(boolean winner) {
+        this.winner = winner;
+    }
+}
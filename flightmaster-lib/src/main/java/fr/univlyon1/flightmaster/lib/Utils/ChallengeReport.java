@@ -0,0 +1,129 @@
+package fr.univlyon1.flightmaster.lib.Utils;
+
+import fr.univlyon1.flightmaster.lib.Algos.CancellationToken;
+import fr.univlyon1.flightmaster.lib.Algos.ColoringResult;
+import fr.univlyon1.flightmaster.lib.Exception.StatsExportException;
+import fr.univlyon1.flightmaster.lib.IO.IOService;
+import fr.univlyon1.flightmaster.lib.Models.TrialReport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Report of every trial of a challenge, with its timings, its conflicts, whether it timed out and the heap used,
+ * exported as CSV and JSON once the challenge is over.
+ */
+final class ChallengeReport {
+
+    /**
+     * Name of the files of the output folder, with a .csv and a .json extension, reporting every trial.
+     */
+    private static final String NAME = "trials";
+
+    private final List<List<Entry>> graphs = new ArrayList<>();
+
+    /**
+     * Returns an empty list of the trials of a graph, which the threads running them can fill at the same time.
+     */
+    static List<Entry> newTrials() {
+        return Collections.synchronizedList(new ArrayList<>());
+    }
+
+    /**
+     * Runs an algorithm on a graph and adds it to the trials of the graph.
+     *
+     * @param graph      the name of the graph file
+     * @param loadMillis the time taken to load the graph, in milliseconds
+     * @param trials     the trials of the graph
+     * @param order      the position of the trial in the order the results of the graph are taken in
+     * @param name       the name of the algorithm
+     * @param token      the token of the trial
+     * @param solved     the token cancelled once the graph is solved, which does not count as a timeout, or null
+     * @param algorithm  the algorithm, given the token
+     * @return the coloring found, or null if the algorithm failed, which is reported without stopping the other trials
+     */
+    static ColoringResult runTrial(String graph, long loadMillis, List<Entry> trials, int order, String name,
+                                   CancellationToken token, CancellationToken solved,
+                                   Function<CancellationToken, ColoringResult> algorithm) {
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        ColoringResult result;
+        try {
+            result = algorithm.apply(token);
+        } catch (RuntimeException e) {
+            System.err.println(name + " algorithm failed on " + graph + ": " + e);
+            result = null;
+        }
+        long coloringMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        boolean timedOut = result != null && token.isCancelled() && (solved == null || !solved.isCancelRequested());
+        if (timedOut) {
+            System.err.println(name + " algorithm timed out on " + graph);
+        }
+        trials.add(new Entry(order, new TrialReport(graph, name, loadMillis, coloringMillis,
+                result == null ? -1 : result.getConflicts(), timedOut, result == null, Math.max(heapBefore, usedHeap()))));
+        return result;
+    }
+
+    /**
+     * Adds the trials of the next graph, the graphs being added in the order of the files.
+     */
+    void add(List<Entry> trials) {
+        graphs.add(trials);
+    }
+
+    /**
+     * Puts the trials of each graph in the order their results are taken in and marks the winner of each graph,
+     * the first trial with the fewest conflicts among those that did not fail, whose coloring is the one exported.
+     *
+     * @return the report of all the trials
+     */
+    List<TrialReport> reports() {
+        List<TrialReport> report = new ArrayList<>();
+        for (List<Entry> graphTrials : graphs) {
+            List<Entry> sorted = new ArrayList<>(graphTrials);
+            sorted.sort(Comparator.comparingInt(Entry::order));
+            TrialReport winner = null;
+            for (Entry entry : sorted) {
+                if (!entry.report().isFailed()
+                        && (winner == null || entry.report().getConflicts() < winner.getConflicts())) {
+                    winner = entry.report();
+                }
+                report.add(entry.report());
+            }
+            if (winner != null) {
+                winner.setWinner(true);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Exports the report to the output folder.
+     *
+     * @param outputFolderPath Path to the folder where the report is saved.
+     * @throws StatsExportException If there is an error exporting the report.
+     */
+    void export(String outputFolderPath) throws StatsExportException {
+        List<TrialReport> report = reports();
+        IOService.exportTrialReportCsv(report, outputFolderPath + "/" + NAME + ".csv");
+        IOService.exportTrialReportJson(report, outputFolderPath + "/" + NAME + ".json");
+    }
+
+    /**
+     * Returns the heap currently used by the JVM, in bytes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Report of a trial with its position in the order the results of its graph are taken in.
+     */
+    record Entry(int order, TrialReport report) {
+    }
+}
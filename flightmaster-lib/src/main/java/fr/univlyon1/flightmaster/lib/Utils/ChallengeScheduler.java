@@ -0,0 +1,548 @@
+package fr.univlyon1.flightmaster.lib.Utils;
+
+import fr.univlyon1.flightmaster.lib.Algos.CancellationToken;
+import fr.univlyon1.flightmaster.lib.Algos.Coloring;
+import fr.univlyon1.flightmaster.lib.Algos.ColoringAlgorithm;
+import fr.univlyon1.flightmaster.lib.Algos.ColoringCache;
+import fr.univlyon1.flightmaster.lib.Algos.ColoringResult;
+import fr.univlyon1.flightmaster.lib.Algos.CompactGraph;
+import fr.univlyon1.flightmaster.lib.Exception.GraphExportException;
+import fr.univlyon1.flightmaster.lib.Exception.GraphParsingException;
+import fr.univlyon1.flightmaster.lib.IO.IOService;
+import fr.univlyon1.flightmaster.lib.Models.ChallengeBudgets;
+import org.graphstream.graph.Graph;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Scheduler of the trials of a challenge. The graphs are streamed through a bounded window: the next graph is loaded
+ * on a separate thread while the trials of the current ones run on a single pool, and a graph is released as soon as
+ * its coloring is exported. With a global budget, half of it is first shared evenly between the graphs, and the time
+ * left then goes to the graphs still above their lower bound on the conflicts, one after another. Every trial is also
+ * cancelled once the global budget is spent, the graphs not colored yet then keeping the colorings found so far.
+ */
+final class ChallengeScheduler {
+
+    /**
+     * Receives the best coloring of each graph in the order of the files, then the colorings improved by extra time.
+     * A graph on which every algorithm failed has no coloring and is skipped.
+     */
+    interface Exporter {
+
+        /**
+         * Exports the coloring of a graph.
+         *
+         * @param index    the position of the graph file among the files
+         * @param filename the name of the graph file
+         * @param graph    the graph
+         * @param coloring the best coloring of the graph
+         * @throws GraphExportException If there is an error exporting the coloring.
+         */
+        void export(int index, String filename, Graph graph, ColoringResult coloring) throws GraphExportException;
+    }
+
+    /**
+     * Number of colorings of the population of the hybrid evolutionary algorithm.
+     */
+    private static final int HYBRID_EVOLUTION_POPULATION_SIZE = 10;
+
+    /**
+     * Number of constructive algorithms run first on each graph, whose best coloring the exact solver starts from.
+     */
+    private static final int CONSTRUCTIVE_TRIALS = 5;
+
+    /**
+     * Percentage of the global time budget shared evenly between the graphs before the rest goes to the graphs
+     * still showing conflicts.
+     */
+    private static final int FAIR_SHARE_PERCENT = 50;
+
+    /**
+     * Number of runs into which the extra time of a graph is split, so that the search improving fastest can be
+     * picked again after each run.
+     */
+    private static final int EXTRA_TIME_RUNS = 4;
+
+    /**
+     * Shortest run of a search on the extra time of a graph, in milliseconds.
+     */
+    private static final long MIN_EXTRA_RUN_MILLIS = 500;
+
+    private final ColoringCache cache;
+    private final ChallengeReport report;
+    private final ChallengeBudgets budgets;
+    private final int parallelism;
+    private final long totalBudgetMillis;
+
+    /**
+     * Creates the scheduler of a challenge.
+     *
+     * @param cache             the cache of the constructive colorings
+     * @param report            the report receiving the trials of every graph
+     * @param budgets           the budgets of the algorithms on each graph, scaled down to the share of each graph
+     *                          when there is a global budget
+     * @param parallelism       the number of trials run at the same time
+     * @param totalBudgetMillis the wall-clock budget of the whole challenge, or 0 to give each graph its budgets
+     */
+    ChallengeScheduler(ColoringCache cache, ChallengeReport report, ChallengeBudgets budgets, int parallelism,
+                       long totalBudgetMillis) {
+        this.cache = cache;
+        this.report = report;
+        this.budgets = budgets;
+        this.parallelism = parallelism;
+        this.totalBudgetMillis = totalBudgetMillis;
+    }
+
+    /**
+     * Colors the graph files and hands their best colorings to the exporter in the order of the files, then, with a
+     * global budget, gives the time left to the graphs still showing conflicts, each one getting an equal part of
+     * what remains, and hands the improved colorings to the exporter again.
+     *
+     * @param files    the graph files
+     * @param exporter the exporter of the colorings
+     * @throws GraphParsingException If there is an error parsing a graph file.
+     * @throws GraphExportException If there is an error exporting a coloring.
+     */
+    void run(List<Path> files, Exporter exporter) throws GraphParsingException, GraphExportException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(totalBudgetMillis);
+        CancellationToken challenge = totalBudgetMillis > 0 ? new CancellationToken(totalBudgetMillis) : null;
+        List<Unsolved> unsolved = new ArrayList<>();
+
+        // The graphs share the first part of the global budget, the pool running parallelism trials at a time
+        ChallengeBudgets graphBudgets = budgets;
+        if (totalBudgetMillis > 0 && !files.isEmpty()) {
+            graphBudgets = budgets.scaledTo(totalBudgetMillis * FAIR_SHARE_PERCENT / 100, files.size(), parallelism);
+        }
+
+        // Each trial gets its share of the processors, the pool already running parallelism trials at a time
+        int processors = Runtime.getRuntime().availableProcessors();
+        int trialThreads = Math.max(1, processors / parallelism);
+        ExecutorService loader = Executors.newSingleThreadExecutor();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            // Keep a bounded window of graphs being loaded or colored, the oldest one being exported first
+            ArrayDeque<PendingGraph> window = new ArrayDeque<>();
+            int next = 0;
+            for (int index = 0; index < files.size(); index++) {
+                while (next < files.size() && window.size() <= parallelism) {
+                    window.add(startGraph(files.get(next++), graphBudgets, trialThreads, challenge, loader, pool));
+                }
+                PendingGraph pending = window.poll();
+                GraphRun run = join(pending.run());
+                Progress progress = join(pending.progress());
+                report.add(run.trials());
+                if (progress.best() == null) {
+                    System.err.println("Every algorithm failed on " + run.filename() + ", no coloring exported");
+                    continue;
+                }
+                exporter.export(index, run.filename(), run.graph(), progress.best());
+                System.out.println("Done with " + run.filename());
+                if (totalBudgetMillis > 0 && !progress.isSolved()) {
+                    unsolved.add(new Unsolved(index, files.get(index), progress, run.trials()));
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+            loader.shutdownNow();
+        }
+
+        // Give the time left to the graphs still showing conflicts, reloading them one at a time
+        for (int i = 0; i < unsolved.size() && System.nanoTime() - deadline < 0; i++) {
+            Unsolved graph = unsolved.get(i);
+            long extraMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) / (unsolved.size() - i);
+            GraphRun run = loadGraph(graph.file(), graph.trials());
+            Progress progress = spendExtraTime(run, graph.progress(), extraMillis, deadline, processors);
+            if (progress.best().getConflicts() < graph.progress().best().getConflicts()) {
+                exporter.export(graph.index(), run.filename(), run.graph(), progress.best());
+                System.out.println("Improved " + run.filename() + " to " + progress.best().getConflicts() + " conflicts with extra time");
+            }
+        }
+    }
+
+    /**
+     * Runs the searches on a graph for the given extra time, each run going to the search that lowered the
+     * conflicts of the graph the fastest so far.
+     *
+     * @param run         the graph to color, with the report of its trials
+     * @param progress    the best coloring of the graph and the improvement rates of the searches
+     * @param extraMillis the time given to the graph, in milliseconds
+     * @param deadline    the System.nanoTime() value at which the whole challenge must end
+     * @param threads     the number of threads of each run, the graph being the only one colored
+     * @return the progress after the extra time
+     */
+    private static Progress spendExtraTime(GraphRun run, Progress progress, long extraMillis, long deadline, int threads) {
+        int kmax = (int) run.graph().getAttribute("kmax");
+        long graphDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(extraMillis);
+        // The graph was loaded after its extra time was computed, which must not push it past the whole challenge
+        if (graphDeadline - deadline > 0) {
+            graphDeadline = deadline;
+        }
+        long runMillis = Math.max(MIN_EXTRA_RUN_MILLIS, extraMillis / EXTRA_TIME_RUNS);
+        long seed = 1;
+        while (!progress.isSolved() && System.nanoTime() - graphDeadline < 0) {
+            long leftMillis = TimeUnit.NANOSECONDS.toMillis(graphDeadline - System.nanoTime());
+            Search search = progress.fastestSearch();
+            ColoringResult best = progress.best();
+            long runSeed = seed++;
+            CancellationToken token = new CancellationToken(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            ColoringResult result = run.runTrial(run.trials().size(), search.getDisplayName(), token, null,
+                    t -> search.run(run.topology(), kmax, best, Math.min(runMillis, leftMillis), runSeed, threads, t));
+            progress = progress.improved(search, result);
+        }
+        return progress;
+    }
+
+    /**
+     * Starts loading a graph on the loader thread, then submits its trials to the pool once it is loaded.
+     */
+    private PendingGraph startGraph(Path file, ChallengeBudgets budgets, int threads, CancellationToken challenge,
+                                    ExecutorService loader, ExecutorService pool) {
+        CompletableFuture<GraphRun> run = CompletableFuture.supplyAsync(() -> {
+            try {
+                return loadGraph(file, ChallengeReport.newTrials());
+            } catch (GraphParsingException e) {
+                throw new CompletionException(e);
+            }
+        }, loader);
+        return new PendingGraph(run, run.thenCompose(loaded -> solveGraph(loaded, budgets, threads, challenge, pool)));
+    }
+
+    /**
+     * Loads a graph file and builds the topology its trials share, measuring the time it takes.
+     */
+    private static GraphRun loadGraph(Path file, List<ChallengeReport.Entry> trials) throws GraphParsingException {
+        long start = System.nanoTime();
+        Graph graph = IOService.loadGraph(file.toString());
+        CompactGraph topology = CompactGraph.of(graph);
+        return new GraphRun(file.getFileName().toString(), graph, topology,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), trials);
+    }
+
+    /**
+     * Waits for a future, rethrowing the parsing error of a graph as it is.
+     */
+    private static <T> T join(CompletableFuture<T> future) throws GraphParsingException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof GraphParsingException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Submits the trials of a graph to the pool and returns its best coloring once they are done.
+     * The algorithms all start at once, the exact solver starting from the best coloring of the constructive ones,
+     * and their results are folded in order, the exact solver first: the graph is
+     * solved as soon as a coloring is proven optimal or reaches the clique lower bound on the conflicts, which
+     * cancels the trials still running, whose results are ignored.
+     * The best coloring of an unsolved graph is then improved with the Tabucol local search.
+     * Every trial is cancelled once the global budget is spent, the trials still queued being skipped.
+     *
+     * @param run       the graph to color, with the topology shared by the trials and the report of its trials
+     * @param budgets   the time budgets of the algorithms
+     * @param threads   the number of threads each trial splits its algorithm over
+     * @param challenge the token cancelled once the global budget is spent, or null without a global budget
+     * @param pool      the pool running the trials
+     * @return the best coloring of the graph, with the improvement rates of the searches
+     */
+    private CompletableFuture<Progress> solveGraph(GraphRun run, ChallengeBudgets budgets, int threads,
+                                                   CancellationToken challenge, ExecutorService pool) {
+        CompactGraph graph = run.topology();
+        int kmax = (int) run.graph().getAttribute("kmax");
+        CancellationToken solved = new CancellationToken(challenge);
+
+        // No conflict at all is a lower bound too, should the clique search fail
+        CompletableFuture<Integer> lowerBound = CompletableFuture.supplyAsync(() -> Coloring.conflictLowerBound(graph, kmax), pool)
+                .exceptionally(e -> 0);
+
+        // Define the algorithms to be executed in order, all reading the same topology and keeping their colorings
+        // aside rather than writing them to the graph, so that only the best coloring is exported
+        // The constructive colorings are taken from the cache when the graph was already colored by a previous run
+        // The algorithms stop by themselves when their token times out and hand back their best coloring so far
+        // The searches come last
+        List<Trial> algorithms = Arrays.asList(
+                Trial.constructive(cache, kmax, threads, ColoringAlgorithm.WELSH_POWELL),
+                Trial.constructive(cache, kmax, threads, ColoringAlgorithm.DSATUR),
+                Trial.constructive(cache, kmax, threads, ColoringAlgorithm.RECURSIVE_LARGEST_FIRST),
+                Trial.constructive(cache, kmax, threads, ColoringAlgorithm.JONES_PLASSMANN),
+                Trial.constructive(cache, kmax, threads, ColoringAlgorithm.SMALLEST_LAST),
+                new Trial("Components", null, (g, token) -> Coloring.computeColoringByComponents(g, kmax, threads,
+                        token, null)),
+                Trial.search(kmax, Search.MULTI_START, budgets.getMultiStartMillis(), threads),
+                Trial.search(kmax, Search.HYBRID_EVOLUTION, budgets.getHybridEvolutionMillis(), threads)
+        );
+
+        List<CompletableFuture<ColoringResult>> trials = new ArrayList<>();
+        for (int i = 0; i < algorithms.size(); i++) {
+            Trial algorithm = algorithms.get(i);
+            int order = i + 1;
+            trials.add(CompletableFuture.supplyAsync(() -> {
+                if (solved.isCancelled()) {
+                    return null;
+                }
+                // The timeout starts with the trial, not when it is queued
+                return run.runTrial(order, algorithm.name(), new CancellationToken(solved, budgets.getTimeoutMillis()),
+                        solved, token -> algorithm.algorithm().apply(graph, token));
+            }, pool));
+        }
+
+        // Small components may be solved exactly, from the best constructive coloring, in which case no other
+        // algorithm can do better
+        // A trial that failed has no result and is skipped, the exact solver starting from scratch if they all failed
+        CompletableFuture<ColoringResult> incumbent = CompletableFuture.completedFuture(null);
+        for (int i = 0; i < CONSTRUCTIVE_TRIALS; i++) {
+            incumbent = incumbent.thenCombine(trials.get(i), (best, result) ->
+                    result != null && (best == null || result.getConflicts() < best.getConflicts()) ? result : best);
+        }
+        CompletableFuture<ColoringResult> exact = incumbent.thenApplyAsync(start -> run.runTrial(0, "Exact",
+                new CancellationToken(challenge, budgets.getTimeoutMillis()), null,
+                token -> Coloring.computeExact(graph, kmax, start, budgets.getExactMillis(), token, null)), pool);
+        CompletableFuture<Progress> progress = exact.thenCombine(lowerBound,
+                (result, bound) -> Progress.start(result, bound).checkSolved(solved));
+        for (int i = 0; i < algorithms.size(); i++) {
+            Search search = algorithms.get(i).search();
+            progress = progress.thenCombine(trials.get(i), (state, result) -> state.fold(search, result).checkSolved(solved));
+        }
+
+        // Try to lower the conflicts of the best coloring with a local search
+        return progress.thenApplyAsync(state -> {
+            if (state.isSolved() || state.best() == null) {
+                return state;
+            }
+            ColoringResult best = run.runTrial(algorithms.size() + 1, Search.TABUCOL.getDisplayName(),
+                    new CancellationToken(challenge, budgets.getTimeoutMillis()), null,
+                    token -> Search.TABUCOL.run(graph, kmax, state.best(), budgets.getTabucolMillis(), 0, threads, token));
+            return state.improved(Search.TABUCOL, best);
+        }, pool);
+    }
+
+    /**
+     * Graph being loaded, and its best coloring once its trials are done.
+     *
+     * @param run      the graph, once loaded
+     * @param progress the best coloring of the graph, with the improvement rates of the searches
+     */
+    private record PendingGraph(CompletableFuture<GraphRun> run, CompletableFuture<Progress> progress) {
+    }
+
+    /**
+     * Graph loaded for its trials.
+     *
+     * @param filename   the name of the graph file
+     * @param graph      the graph, only used to export the best coloring
+     * @param topology   the compact topology of the graph, only read by the trials
+     * @param loadMillis the time taken to load the graph and build its topology, in milliseconds
+     * @param trials     the report of the trials run on the graph, filled by the threads running them
+     */
+    private record GraphRun(String filename, Graph graph, CompactGraph topology, long loadMillis,
+                            List<ChallengeReport.Entry> trials) {
+
+        /**
+         * Runs an algorithm on the graph and adds it to the report of the graph.
+         */
+        ColoringResult runTrial(int order, String name, CancellationToken token, CancellationToken solved,
+                                Function<CancellationToken, ColoringResult> algorithm) {
+            return ChallengeReport.runTrial(filename, loadMillis, trials, order, name, token, solved, algorithm);
+        }
+    }
+
+    /**
+     * Algorithm run as a trial on each graph.
+     *
+     * @param name      the name of the algorithm in the report
+     * @param search    the search the algorithm is, or null for the other algorithms
+     * @param algorithm the algorithm, given the topology of the graph and the token of the trial
+     */
+    private record Trial(String name, Search search, BiFunction<CompactGraph, CancellationToken, ColoringResult> algorithm) {
+
+        /**
+         * Returns the trial of a constructive algorithm, whose coloring is taken from the cache when it was computed
+         * before.
+         */
+        static Trial constructive(ColoringCache cache, int kmax, int threads, ColoringAlgorithm algorithm) {
+            return new Trial(algorithm.getDisplayName(), null,
+                    (graph, token) -> cache.computeColoring(graph, kmax, algorithm, threads, token, null));
+        }
+
+        /**
+         * Returns the trial of a search starting from scratch.
+         */
+        static Trial search(int kmax, Search search, long budgetMillis, int threads) {
+            return new Trial(search.getDisplayName(), search,
+                    (graph, token) -> search.run(graph, kmax, null, budgetMillis, 0, threads, token));
+        }
+    }
+
+    /**
+     * Graph still showing conflicts after its share of the global budget.
+     *
+     * @param index    the position of the graph file among the files
+     * @param file     the graph file, loaded again to be given extra time
+     * @param progress the best coloring of the graph, with the improvement rates of the searches
+     * @param trials   the report of the trials run on the graph
+     */
+    private record Unsolved(int index, Path file, Progress progress, List<ChallengeReport.Entry> trials) {
+    }
+
+    /**
+     * Searches that keep lowering the conflicts of a graph as they are given more time.
+     */
+    private enum Search {
+        TABUCOL("Tabucol") {
+            @Override
+            ColoringResult run(CompactGraph graph, int kmax, ColoringResult best, long budgetMillis, long seed, int threads,
+                               CancellationToken token) {
+                return Coloring.tabucol(graph, kmax, best, budgetMillis, seed, token, null);
+            }
+        },
+        MULTI_START("Multi-start") {
+            @Override
+            ColoringResult run(CompactGraph graph, int kmax, ColoringResult best, long budgetMillis, long seed, int threads,
+                               CancellationToken token) {
+                return Coloring.computeMultiStart(graph, kmax, threads, budgetMillis, seed, token, null);
+            }
+        },
+        HYBRID_EVOLUTION("Hybrid Evolutionary") {
+            @Override
+            ColoringResult run(CompactGraph graph, int kmax, ColoringResult best, long budgetMillis, long seed, int threads,
+                               CancellationToken token) {
+                return Coloring.computeHybridEvolution(graph, kmax, HYBRID_EVOLUTION_POPULATION_SIZE, threads,
+                        budgetMillis, seed, token, null);
+            }
+        };
+
+        private final String displayName;
+
+        Search(String displayName) {
+            this.displayName = displayName;
+        }
+
+        String getDisplayName() {
+            return displayName;
+        }
+
+        /**
+         * Runs the search on a graph, Tabucol starting from the best coloring on a single thread and the other
+         * searches from scratch on the given number of threads.
+         */
+        abstract ColoringResult run(CompactGraph graph, int kmax, ColoringResult best, long budgetMillis, long seed,
+                                    int threads, CancellationToken token);
+    }
+
+    /**
+     * Best coloring of a graph after the trials folded so far, with the lower bound on its conflicts and the rate
+     * at which each search lowered the conflicts.
+     *
+     * @param best       the coloring with the fewest conflicts, the earliest one winning ties, or null while every
+     *                   trial folded so far failed
+     * @param lowerBound the clique lower bound on the conflicts
+     * @param optimal    whether the exact solver proved its coloring optimal
+     * @param baseline   the fewest conflicts of the trials that are not searches, which the searches started from,
+     *                   or Integer.MAX_VALUE while none of them returned a coloring
+     * @param rates      the conflicts removed per second by each search, NaN for the searches not run yet
+     */
+    private record Progress(ColoringResult best, int lowerBound, boolean optimal, int baseline, double[] rates) {
+
+        /**
+         * Returns the progress after the exact solver, whose result is null if it failed.
+         */
+        static Progress start(ColoringResult exact, int lowerBound) {
+            double[] rates = new double[Search.values().length];
+            Arrays.fill(rates, Double.NaN);
+            if (exact == null) {
+                return new Progress(null, lowerBound, false, Integer.MAX_VALUE, rates);
+            }
+            return new Progress(exact, lowerBound, exact.isOptimal(), exact.getConflicts(), rates);
+        }
+
+        /**
+         * Returns whether no trial can improve the best coloring, in which case the later trials are not taken.
+         */
+        boolean isSolved() {
+            return optimal || (best != null && best.getConflicts() <= lowerBound);
+        }
+
+        /**
+         * Takes the result of the next trial into account, unless the graph was solved before it or the trial
+         * failed. The rate of a search is measured against the best coloring of the trials that are not searches,
+         * or against its own coloring when they all failed.
+         */
+        Progress fold(Search search, ColoringResult result) {
+            if (isSolved() || result == null) {
+                return this;
+            }
+            int newBaseline = baseline;
+            double[] newRates = rates;
+            if (search == null) {
+                newBaseline = Math.min(baseline, result.getConflicts());
+            } else {
+                newRates = rates.clone();
+                newRates[search.ordinal()] = rate(Math.min(baseline, result.getConflicts()), result);
+            }
+            ColoringResult newBest = best == null || result.getConflicts() < best.getConflicts() ? result : best;
+            return new Progress(newBest, lowerBound, optimal, newBaseline, newRates);
+        }
+
+        /**
+         * Takes into account a run of a search given extra time, its rate being averaged with the previous ones so
+         * that a search that stops improving loses its place. A run that failed counts as no improvement.
+         */
+        Progress improved(Search search, ColoringResult result) {
+            double[] newRates = rates.clone();
+            double rate = result == null ? 0 : rate(best.getConflicts(), result);
+            double previous = rates[search.ordinal()];
+            newRates[search.ordinal()] = Double.isNaN(previous) ? rate : (previous + rate) / 2;
+            ColoringResult newBest = result != null && result.getConflicts() < best.getConflicts() ? result : best;
+            return new Progress(newBest, lowerBound, optimal, baseline, newRates);
+        }
+
+        /**
+         * Returns the search not run yet on the graph, or else the one that lowered its conflicts the fastest.
+         */
+        Search fastestSearch() {
+            Search fastest = null;
+            for (Search search : Search.values()) {
+                double rate = rates[search.ordinal()];
+                if (Double.isNaN(rate)) {
+                    return search;
+                }
+                if (fastest == null || rate > rates[fastest.ordinal()]) {
+                    fastest = search;
+                }
+            }
+            return fastest;
+        }
+
+        /**
+         * Cancels the trials of the graph once it is solved.
+         */
+        Progress checkSolved(CancellationToken solved) {
+            if (isSolved()) {
+                solved.cancel();
+            }
+            return this;
+        }
+
+        /**
+         * Returns the conflicts removed per second by a run starting from the given number of conflicts.
+         */
+        private static double rate(int startConflicts, ColoringResult result) {
+            double seconds = Math.max(1e-3, result.getElapsedNanos() / 1e9);
+            return Math.max(0, startConflicts - result.getConflicts()) / seconds;
+        }
+    }
+}
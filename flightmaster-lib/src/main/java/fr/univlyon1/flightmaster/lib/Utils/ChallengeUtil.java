@@ -1,98 +1,248 @@
 package fr.univlyon1.flightmaster.lib.Utils;
 
-import fr.univlyon1.flightmaster.lib.Algos.Coloring;
+import fr.univlyon1.flightmaster.lib.Algos.ColoringCache;
 import fr.univlyon1.flightmaster.lib.Exception.GraphExportException;
 import fr.univlyon1.flightmaster.lib.Exception.GraphParsingException;
+import fr.univlyon1.flightmaster.lib.Exception.StatsExportException;
 import fr.univlyon1.flightmaster.lib.IO.IOService;
-import org.graphstream.graph.Graph;
-import org.graphstream.graph.implementations.Graphs;
+import fr.univlyon1.flightmaster.lib.Models.ChallengeBudgets;
 
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.*;
-import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
- * Utility class for solving graph coloring challenges using various algorithms such as Welsh-Powell, DSATUR, and Recursive Largest First.
+ * Utility class for solving graph coloring challenges using various algorithms such as Welsh-Powell, DSATUR, Recursive Largest First,
+ * Jones-Plassmann and smallest-last, then the multi-start portfolio and the hybrid evolutionary algorithm on the graphs still unsolved,
+ * the best coloring being then improved with the Tabucol local search. A graph stops being worked on as soon as
+ * its coloring is proven optimal by the exact solver or reaches the clique lower bound on the conflicts.
+ * The algorithms get fixed budgets on each graph, or shares of a single budget for the whole challenge, the time left
+ * after a first even share going to the graphs still showing conflicts.
+ * The trials are scheduled by ChallengeScheduler and reported by ChallengeReport.
  */
 public class ChallengeUtil {
 
+    /**
+     * Number of colorings of the constructive algorithms kept in memory between the graphs.
+     */
+    private static final int COLORING_CACHE_CAPACITY = 100;
+
+    /**
+     * Glob pattern of the names of the graph files of the challenge.
+     */
+    private static final String GRAPH_FILE_PATTERN = "graph-eval*.txt";
+
+    /**
+     * Sequence of digits in a file name, used to sort the files in natural order.
+     */
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+
     /**
      * Solves the graph coloring challenge by loading graphs from a specified folder,
      * applying multiple algorithms, and exporting results.
+     * The trials run on as many threads as there are processors.
      *
      * @param graphFolderPath Path to the folder containing graph files.
      * @param outputFolderPath Path to the folder where output files will be saved.
      * @throws GraphParsingException If there is an error parsing a graph file.
      * @throws GraphExportException If there is an error exporting a graph file.
+     * @throws StatsExportException If there is an error exporting the trial report.
      */
-    public static void solveChallenge(String graphFolderPath, String outputFolderPath) throws GraphParsingException, GraphExportException {
-        List<Graph> graphs = new ArrayList<>();
-        Path graphFolder = Path.of(graphFolderPath);
-        List<String> filenames = new ArrayList<>();
+    public static void solveChallenge(String graphFolderPath, String outputFolderPath) throws GraphParsingException, GraphExportException, StatsExportException {
+        solveChallenge(graphFolderPath, outputFolderPath, Runtime.getRuntime().availableProcessors());
+    }
 
-        // Load files from graph-eval0.txt to graph-eval19.txt
-        for (int i = 0; i < 20; i++) {
-            String graphPath = graphFolder.resolve("graph-eval" + i + ".txt").toString();
-            Graph graph = IOService.loadGraph(graphPath);
-            filenames.add("graph-eval" + i + ".txt");
-            graphs.add(graph);
+    /**
+     * Solves the graph coloring challenge on the graph-eval*.txt files of a specified folder,
+     * applying multiple algorithms, and exporting results.
+     * The trials of every graph and algorithm run concurrently on a single pool with the given number of threads,
+     * each trial splitting its algorithm over its share of the processors, so that the challenge keeps about as
+     * many busy threads as there are processors.
+     * The results of the trials of a graph are then taken in the order of the algorithms, ties going to the earliest
+     * one, and the trials still running once the graph is solved are cancelled. The searches being bounded by time,
+     * their colorings may differ from one run to another.
+     *
+     * @param graphFolderPath Path to the folder containing graph files.
+     * @param outputFolderPath Path to the folder where output files will be saved.
+     * @param parallelism Number of trials run at the same time.
+     * @throws GraphParsingException If there is an error listing or parsing a graph file.
+     * @throws GraphExportException If there is an error exporting a graph file.
+     * @throws StatsExportException If there is an error exporting the trial report.
+     * @throws IllegalArgumentException If the parallelism is lower than 1.
+     */
+    public static void solveChallenge(String graphFolderPath, String outputFolderPath, int parallelism) throws GraphParsingException, GraphExportException, StatsExportException {
+        solveChallenge(graphFolderPath, outputFolderPath, parallelism, GRAPH_FILE_PATTERN);
+    }
+
+    /**
+     * Solves the graph coloring challenge on the graph files of a specified folder matching a glob pattern,
+     * applying multiple algorithms, and exporting results, as solveChallenge does.
+     * The graphs are streamed: only parallelism + 1 graphs are in memory at a time, the next graph being loaded on
+     * a separate thread while the current ones are colored, and a graph is released as soon as its coloring is
+     * exported. The colorings are exported in the order of the files, the coloring of a file named graph-X being
+     * written to colo-X.
+     *
+     * @param graphFolderPath Path to the folder containing graph files.
+     * @param outputFolderPath Path to the folder where output files will be saved.
+     * @param parallelism Number of trials run at the same time.
+     * @param filePattern Glob pattern of the names of the graph files, such as graph-eval*.txt.
+     * @throws GraphParsingException If there is an error listing or parsing a graph file.
+     * @throws GraphExportException If there is an error exporting a graph file.
+     * @throws StatsExportException If there is an error exporting the trial report.
+     * @throws IllegalArgumentException If the parallelism is lower than 1.
+     */
+    public static void solveChallenge(String graphFolderPath, String outputFolderPath, int parallelism, String filePattern)
+            throws GraphParsingException, GraphExportException, StatsExportException {
+        solveChallenge(graphFolderPath, outputFolderPath, parallelism, filePattern, ChallengeBudgets.DEFAULT, 0, null);
+    }
+
+    /**
+     * Solves the graph coloring challenge on the graph files of a specified folder matching a glob pattern, as
+     * solveChallenge does, within a single wall-clock budget for the whole challenge instead of fixed budgets per graph.
+     * Half of the budget is first shared evenly between the graphs, whose algorithms get budgets scaled down to their
+     * share. The time left, including the time saved on the graphs solved early, then goes to the graphs still above
+     * their lower bound on the conflicts, one after another, each one getting an equal part of what remains. This extra
+     * time is split into a few runs of the search, among the multi-start portfolio, the hybrid evolutionary algorithm
+     * and Tabucol, that lowered the conflicts of the graph the fastest so far, a search not tried yet going first.
+     * The colorings improved by the extra time are exported again.
+     *
+     * @param graphFolderPath Path to the folder containing graph files.
+     * @param outputFolderPath Path to the folder where output files will be saved.
+     * @param parallelism Number of trials run at the same time.
+     * @param filePattern Glob pattern of the names of the graph files, such as graph-eval*.txt.
+     * @param totalBudgetMillis Wall-clock budget of the whole challenge, in milliseconds.
+     * @throws GraphParsingException If there is an error listing or parsing a graph file.
+     * @throws GraphExportException If there is an error exporting a graph file.
+     * @throws StatsExportException If there is an error exporting the trial report.
+     * @throws IllegalArgumentException If the parallelism or the budget is lower than 1.
+     */
+    public static void solveChallenge(String graphFolderPath, String outputFolderPath, int parallelism, String filePattern,
+                                      long totalBudgetMillis) throws GraphParsingException, GraphExportException, StatsExportException {
+        solveChallenge(graphFolderPath, outputFolderPath, parallelism, filePattern, totalBudgetMillis, null);
+    }
+
+    /**
+     * Solves the graph coloring challenge within a single wall-clock budget, as solveChallenge does, keeping the
+     * colorings of the constructive algorithms in a folder on disk so that a later run on the same graphs reads them
+     * instead of computing them again. The colorings are kept in memory only by the other overloads.
+     *
+     * @param graphFolderPath Path to the folder containing graph files.
+     * @param outputFolderPath Path to the folder where output files will be saved.
+     * @param parallelism Number of trials run at the same time.
+     * @param filePattern Glob pattern of the names of the graph files, such as graph-eval*.txt.
+     * @param totalBudgetMillis Wall-clock budget of the whole challenge, in milliseconds.
+     * @param cacheFolderPath Path to the folder where the constructive colorings are kept, or null to keep them in memory only.
+     * @throws GraphParsingException If there is an error listing or parsing a graph file.
+     * @throws GraphExportException If there is an error exporting a graph file.
+     * @throws StatsExportException If there is an error exporting the trial report.
+     * @throws IllegalArgumentException If the parallelism or the budget is lower than 1.
+     */
+    public static void solveChallenge(String graphFolderPath, String outputFolderPath, int parallelism, String filePattern,
+                                      long totalBudgetMillis, String cacheFolderPath)
+            throws GraphParsingException, GraphExportException, StatsExportException {
+        if (totalBudgetMillis < 1) {
+            throw new IllegalArgumentException("The time budget must be at least 1 millisecond.");
         }
+        solveChallenge(graphFolderPath, outputFolderPath, parallelism, filePattern, ChallengeBudgets.DEFAULT,
+                totalBudgetMillis, cacheFolderPath);
+    }
 
+    /**
+     * Solves the graph coloring challenge with the given budgets for the algorithms, as solveChallenge does.
+     * Without a global budget, every graph gets these budgets. With one, they are scaled down to the share of each
+     * graph.
+     *
+     * @param graphFolderPath Path to the folder containing graph files.
+     * @param outputFolderPath Path to the folder where output files will be saved.
+     * @param parallelism Number of trials run at the same time.
+     * @param filePattern Glob pattern of the names of the graph files, such as graph-eval*.txt.
+     * @param budgets Budgets of the algorithms on each graph.
+     * @param totalBudgetMillis Wall-clock budget of the whole challenge, in milliseconds, or 0 for none.
+     * @param cacheFolderPath Path to the folder where the constructive colorings are kept, or null to keep them in memory only.
+     * @throws GraphParsingException If there is an error listing or parsing a graph file.
+     * @throws GraphExportException If there is an error exporting a graph file.
+     * @throws StatsExportException If there is an error exporting the trial report.
+     * @throws IllegalArgumentException If the parallelism is lower than 1 or the budget is negative.
+     */
+    public static void solveChallenge(String graphFolderPath, String outputFolderPath, int parallelism, String filePattern,
+                                      ChallengeBudgets budgets, long totalBudgetMillis, String cacheFolderPath)
+            throws GraphParsingException, GraphExportException, StatsExportException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1.");
+        }
+        if (totalBudgetMillis < 0) {
+            throw new IllegalArgumentException("The time budget must not be negative.");
+        }
+        List<Path> files = findGraphFiles(Path.of(graphFolderPath), filePattern);
+        List<String> filenames = new ArrayList<>();
         List<Integer> results = new ArrayList<>();
+        ColoringCache cache = new ColoringCache(COLORING_CACHE_CAPACITY,
+                cacheFolderPath == null ? null : Path.of(cacheFolderPath));
+        ChallengeReport report = new ChallengeReport();
 
-        int i = 0;
-        for (Graph graph : graphs) {
-            Graph graphToSave = null;
-            int minConflicts = Integer.MAX_VALUE;
-
-            // Define the algorithms to be executed in order
-            List<Function<Graph, Integer>> algorithms = Arrays.asList(
-                    Coloring::welshPowell,
-                    Coloring::DSATUR,
-                    Coloring::recursiveLargestFirst
-            );
-
-            for (Function<Graph, Integer> algorithm : algorithms) {
-                try {
-                    Graph clonedGraph = Graphs.clone(graph);
-                    int conflicts = executeWithTimeout(() -> algorithm.apply(clonedGraph), 25);
-                    if (conflicts < minConflicts) {
-                        minConflicts = conflicts;
-                        graphToSave = clonedGraph;
+        new ChallengeScheduler(cache, report, budgets, parallelism, totalBudgetMillis).run(files,
+                (index, filename, graph, coloring) -> {
+                    // A coloring improved by extra time replaces the one exported before, and a graph on which
+                    // every algorithm failed is left out
+                    int position = filenames.indexOf(filename);
+                    if (position < 0) {
+                        filenames.add(filename);
+                        results.add(coloring.getConflicts());
+                    } else {
+                        results.set(position, coloring.getConflicts());
                     }
-                } catch (Exception e) {
-                    System.err.println(algorithm.getClass().getSimpleName() + " algorithm timed out");
-                }
-            }
-            results.add(minConflicts);
-            IOService.exportGraphColoring(graphToSave, outputFolderPath + "/colo-eval" + i + ".txt");
-            System.out.println("Done with graph-eval" + i + ".txt");
-            i += 1;
-        }
+                    IOService.exportGraphColoring(graph, coloring, outputFolderPath + "/" + outputFileName(filename));
+                });
         IOService.exportConflicts(filenames, results, outputFolderPath + "/coloration-groupe1.3.csv");
+        report.export(outputFolderPath);
+        System.out.println("Coloring cache: " + cache.getHits() + " hits (" + cache.getDiskHits() + " from disk), "
+                + cache.getMisses() + " misses");
     }
 
     /**
-     * Executes a callable task with a specified timeout.
+     * Lists the files of a folder whose names match a glob pattern, in natural order, so that graph-eval2.txt
+     * comes before graph-eval10.txt.
      *
-     * @param callable      Callable task to execute.
-     * @param timeoutSeconds Timeout period in seconds.
-     * @return Result of the callable task.
-     * @throws Exception If the task execution exceeds the specified timeout.
+     * @param graphFolder Folder containing graph files.
+     * @param filePattern Glob pattern of the names of the graph files.
+     * @return The matching files in natural order.
+     * @throws GraphParsingException If the folder cannot be listed.
      */
-    private static Integer executeWithTimeout(Callable<Integer> callable, int timeoutSeconds) throws Exception {
-        ExecutorService executor = Executors.newSingleThreadExecutor();
-        Future<Integer> future = executor.submit(callable);
-        try {
-            return future.get(timeoutSeconds, TimeUnit.SECONDS);
-        } catch (TimeoutException e) {
-            future.cancel(true);
-            throw e;
-        } finally {
-            executor.shutdownNow();
+    public static List<Path> findGraphFiles(Path graphFolder, String filePattern) throws GraphParsingException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(graphFolder, filePattern)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new GraphParsingException("Error while listing graph files", e);
         }
+        files.sort(Comparator.comparing((Path file) -> NUMBER.matcher(file.getFileName().toString()).replaceAll(""))
+                .thenComparingLong(file -> fileNumber(file.getFileName().toString()))
+                .thenComparing(file -> file.getFileName().toString()));
+        return files;
+    }
+
+    /**
+     * Returns the number in a file name, -1 if there is none.
+     */
+    private static long fileNumber(String filename) {
+        Matcher matcher = NUMBER.matcher(filename);
+        return matcher.find() ? Long.parseLong(matcher.group()) : -1;
+    }
+
+    /**
+     * Returns the name of the file the coloring of a graph file is exported to, graph-X giving colo-X.
+     */
+    private static String outputFileName(String filename) {
+        return "colo-" + (filename.startsWith("graph-") ? filename.substring("graph-".length()) : filename);
     }
 }
@@ -3,6 +3,7 @@ package fr.univlyon1.flightmaster.lib.Utils;
 import fr.univlyon1.flightmaster.lib.Models.Airport;
 import fr.univlyon1.flightmaster.lib.Models.Flight;
 import fr.univlyon1.flightmaster.lib.Models.Point;
+import org.graphstream.graph.Edge;
 import org.graphstream.graph.Graph;
 import org.graphstream.graph.implementations.MultiGraph;
 
@@ -33,12 +34,10 @@ public class FlightGraphBuilderUtil {
      * @param airports Map of airport codes to Airport
      * @param flights  List of Flight objects representing flights to be included in the graph.
      * @param deadline Maximum allowed time difference in minutes between arrival times at an intersection.
-     * @return Graph representing the flight connections.
+     * @return Graph representing the flight connections, without display attributes.
      */
     public static Graph buildFlightGraph(Map<String, Airport> airports, List<Flight> flights, int deadline) {
         Graph graph = new MultiGraph("FlightGraph");
-        graph.setAttribute("ui.antialias");
-        graph.setAttribute("ui.quality");
 
         for (Flight flight : flights) {
             graph.addNode(flight.getId());
@@ -62,7 +61,7 @@ public class FlightGraphBuilderUtil {
                     Duration duration = Duration.between(flight1EstimatedArrival, flight2EstimatedArrival);
 
                     if (duration.abs().toMinutes() < deadline) {
-                        graph.addEdge(flight1.getId() + "-" + flight2.getId(), flight1.getId(), flight2.getId());
+                        addEdge(graph, flight1.getId(), flight2.getId());
                     }
                 }
             }
@@ -70,4 +69,21 @@ public class FlightGraphBuilderUtil {
 
         return graph;
     }
+
+    /**
+     * Adds an edge with the first numeric id not used by the graph, counting from its number of edges, so that
+     * parallel edges get distinct ids even after edges were removed.
+     *
+     * @param graph Graph to add the edge to.
+     * @param from  Id of the first node.
+     * @param to    Id of the second node.
+     * @return The new edge.
+     */
+    public static Edge addEdge(Graph graph, String from, String to) {
+        int id = graph.getEdgeCount();
+        while (graph.getEdge(Integer.toString(id)) != null) {
+            id++;
+        }
+        return graph.addEdge(Integer.toString(id), from, to);
+    }
 }
@@ -1,5 +1,6 @@
 package fr.univlyon1.flightmaster.lib.Utils;
 
+import fr.univlyon1.flightmaster.lib.Algos.CoreDecomposition;
 import org.graphstream.algorithm.ConnectedComponents;
 import org.graphstream.graph.Graph;
 import org.graphstream.algorithm.Toolkit;
@@ -54,4 +55,25 @@ public class GraphStatsUtil {
         return maxEccentricity;
     }
 
+    /**
+     * Computes the degeneracy of the given graph, the largest k such that it has a subgraph where every node
+     * has at least k neighbors, with an O(n + m) bucket-based core decomposition.
+     *
+     * @param graph The graph for which to compute the degeneracy.
+     * @return The degeneracy of the graph, 0 if it has no edge.
+     */
+    public static int getDegeneracy(Graph graph) {
+        return CoreDecomposition.of(graph).getDegeneracy();
+    }
+
+    /**
+     * Computes the core number of each node of the given graph with an O(n + m) bucket-based core decomposition.
+     *
+     * @param graph The graph for which to compute the core numbers.
+     * @return The core number of each node, indexed by node index.
+     */
+    public static int[] getCoreNumbers(Graph graph) {
+        return CoreDecomposition.of(graph).getCoreNumbers();
+    }
+
 }
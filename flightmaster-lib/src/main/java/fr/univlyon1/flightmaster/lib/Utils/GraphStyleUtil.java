@@ -0,0 +1,63 @@
+package fr.univlyon1.flightmaster.lib.Utils;
+
+import org.graphstream.graph.Graph;
+import org.graphstream.graph.Node;
+
+import java.awt.*;
+
+/**
+ * Utility class for the display attributes of a graph.
+ * Loading, building and coloring a graph only store its data, so that batch runs do not pay for display strings,
+ * and the labels and styles are derived from that data here when the graph is handed to a viewer.
+ */
+public class GraphStyleUtil {
+
+    /**
+     * Style of the nodes that have no color yet.
+     */
+    private static final String UNCOLORED_NODE_STYLE = "text-size: 1; text-color: #808080;";
+
+    /**
+     * Generates uniformly distributed color palette based on the maximum number of colors.
+     *
+     * @param kmax the maximum number of colors to generate
+     * @return an array of color codes in hexadecimal format
+     */
+    public static String[] generateColorPalette(int kmax) {
+        String[] colors = new String[kmax];
+        for (int i = 0; i < kmax; i++) {
+            float hue = (float) i / kmax;
+            Color color = Color.getHSBColor(hue, 0.75f, 0.75f);
+            colors[i] = String.format("#%02X%02X%02X", color.getRed(), color.getGreen(), color.getBlue());
+        }
+        return colors;
+    }
+
+    /**
+     * Sets the display attributes of a graph: rendering quality, node labels, and a fill color for every node
+     * having a "color" attribute, taken from a palette spread over the highest color used.
+     *
+     * @param graph the graph about to be displayed
+     */
+    public static void applyStyles(Graph graph) {
+        graph.setAttribute("ui.antialias");
+        graph.setAttribute("ui.quality");
+
+        int colorCount = 0;
+        for (Node node : graph) {
+            if (node.getAttribute("color") instanceof Integer color) {
+                colorCount = Math.max(colorCount, color);
+            }
+        }
+        String[] palette = generateColorPalette(Math.max(colorCount, 1));
+
+        for (Node node : graph) {
+            node.setAttribute("ui.label", node.getId());
+            if (node.getAttribute("color") instanceof Integer color && color >= 1) {
+                node.setAttribute("ui.style", "fill-color: " + palette[color - 1] + ";");
+            } else {
+                node.setAttribute("ui.style", UNCOLORED_NODE_STYLE);
+            }
+        }
+    }
+}
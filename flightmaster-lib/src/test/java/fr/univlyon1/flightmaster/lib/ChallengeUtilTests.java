@@ -0,0 +1,190 @@
+package fr.univlyon1.flightmaster.lib;
+
+import fr.univlyon1.flightmaster.lib.Exception.GraphExportException;
+import fr.univlyon1.flightmaster.lib.Exception.GraphParsingException;
+import fr.univlyon1.flightmaster.lib.Exception.StatsExportException;
+import fr.univlyon1.flightmaster.lib.Models.ChallengeBudgets;
+import fr.univlyon1.flightmaster.lib.Utils.ChallengeUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChallengeUtilTests {
+
+    /**
+     * Copies test graphs into a folder under the names of the challenge graphs, graph-eval0.txt being the first one.
+     */
+    private Path challengeFolder(Path folder, int... testGraphs) throws IOException {
+        Path graphs = Files.createDirectories(folder.resolve("graphs"));
+        for (int i = 0; i < testGraphs.length; i++) {
+            Files.copy(Path.of("TestFiles/graph-test" + testGraphs[i] + ".txt"), graphs.resolve("graph-eval" + i + ".txt"));
+        }
+        return graphs;
+    }
+
+    private List<String> fileNames(List<Path> files) {
+        return files.stream().map(file -> file.getFileName().toString()).toList();
+    }
+
+    @Test
+    public void testParallelism(@TempDir Path folder)
+            throws IOException, GraphParsingException, GraphExportException, StatsExportException {
+        // Small graphs whose best coloring is found by the exact solver, the first trial taken, so that the colorings
+        // do not depend on the order the trials end in
+        Path graphs = challengeFolder(folder, 0, 1, 4, 5, 8);
+        Path sequential = Files.createDirectories(folder.resolve("sequential"));
+        Path parallel = Files.createDirectories(folder.resolve("parallel"));
+        ChallengeBudgets budgets = new ChallengeBudgets(2_000, 500, 500, 500, 2_000);
+
+        ChallengeUtil.solveChallenge(graphs.toString(), sequential.toString(), 1, "graph-eval*.txt", budgets, 0, null);
+        ChallengeUtil.solveChallenge(graphs.toString(), parallel.toString(), 4, "graph-eval*.txt", budgets, 0, null);
+
+        assertEquals(List.of("graph-eval0.txt ; 0", "graph-eval1.txt ; 4", "graph-eval2.txt ; 1", "graph-eval3.txt ; 4",
+                "graph-eval4.txt ; 0"), Files.readAllLines(sequential.resolve("coloration-groupe1.3.csv")));
+        assertEquals(Files.readAllLines(sequential.resolve("coloration-groupe1.3.csv")),
+                Files.readAllLines(parallel.resolve("coloration-groupe1.3.csv")),
+                "The number of trials run at a time should not change the results.");
+        for (int i = 0; i < 5; i++) {
+            String coloring = "colo-eval" + i + ".txt";
+            assertEquals(Files.readAllLines(sequential.resolve(coloring)), Files.readAllLines(parallel.resolve(coloring)),
+                    "The number of trials run at a time should not change the coloring of " + coloring + ".");
+        }
+    }
+
+    @Test
+    public void testFindGraphFiles(@TempDir Path folder) throws IOException, GraphParsingException {
+        for (String name : List.of("graph-eval10.txt", "graph-eval2.txt", "graph-eval1.txt", "graph-test3.txt", "notes.txt")) {
+            Files.createFile(folder.resolve(name));
+        }
+        Files.createDirectory(folder.resolve("graph-eval5.txt"));
+
+        assertEquals(List.of("graph-eval1.txt", "graph-eval2.txt", "graph-eval10.txt"),
+                fileNames(ChallengeUtil.findGraphFiles(folder, "graph-eval*.txt")),
+                "The graph files should be in natural order, without the folders.");
+        assertEquals(List.of("graph-eval1.txt", "graph-eval2.txt", "graph-eval10.txt", "graph-test3.txt"),
+                fileNames(ChallengeUtil.findGraphFiles(folder, "graph-*.txt")));
+        assertTrue(ChallengeUtil.findGraphFiles(folder, "*.col").isEmpty());
+        assertThrows(GraphParsingException.class, () -> ChallengeUtil.findGraphFiles(folder.resolve("missing"), "*.txt"));
+    }
+
+    @Test
+    public void testOutputFileNames(@TempDir Path folder)
+            throws IOException, GraphParsingException, GraphExportException, StatsExportException {
+        Path graphs = Files.createDirectories(folder.resolve("graphs"));
+        Path output = Files.createDirectories(folder.resolve("output"));
+        for (String name : List.of("graph-eval10.txt", "graph-eval2.txt", "small.txt")) {
+            Files.copy(Path.of("TestFiles/graph-test0.txt"), graphs.resolve(name));
+        }
+
+        ChallengeUtil.solveChallenge(graphs.toString(), output.toString(), 2, "*.txt", ChallengeBudgets.DEFAULT, 0, null);
+
+        assertEquals(List.of("graph-eval2.txt ; 0", "graph-eval10.txt ; 0", "small.txt ; 0"),
+                Files.readAllLines(output.resolve("coloration-groupe1.3.csv")));
+        assertTrue(Files.exists(output.resolve("colo-eval2.txt")));
+        assertTrue(Files.exists(output.resolve("colo-eval10.txt")));
+        assertTrue(Files.exists(output.resolve("colo-small.txt")), "A file not named graph-X should keep its name.");
+    }
+
+    @Test
+    public void testTrialReport(@TempDir Path folder)
+            throws IOException, GraphParsingException, GraphExportException, StatsExportException {
+        Path graphs = challengeFolder(folder, 0, 4, 7);
+        Path output = Files.createDirectories(folder.resolve("output"));
+        ChallengeUtil.solveChallenge(graphs.toString(), output.toString(), 2, "graph-eval*.txt",
+                new ChallengeBudgets(500, 200, 200, 200, 500), 0, null);
+
+        // Each graph has a single winner, one of the trials with the fewest conflicts, the failed ones excepted
+        List<String> lines = Files.readAllLines(output.resolve("trials.csv"));
+        assertEquals("graph;algorithm;loadMillis;coloringMillis;conflicts;timedOut;failed;peakHeapBytes;winner", lines.get(0));
+        Map<String, List<String[]>> trials = new TreeMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = line.split(";");
+            assertEquals(9, fields.length, "Every line should have all the columns: " + line);
+            trials.computeIfAbsent(fields[0], graph -> new ArrayList<>()).add(fields);
+        }
+        assertEquals(List.of("graph-eval0.txt", "graph-eval1.txt", "graph-eval2.txt"), new ArrayList<>(trials.keySet()));
+        Map<String, Integer> exported = new HashMap<>();
+        for (String line : Files.readAllLines(output.resolve("coloration-groupe1.3.csv"))) {
+            String[] fields = line.split(" ; ");
+            exported.put(fields[0], Integer.parseInt(fields[1]));
+        }
+        for (Map.Entry<String, List<String[]>> graph : trials.entrySet()) {
+            List<String[]> winners = graph.getValue().stream().filter(fields -> Boolean.parseBoolean(fields[8])).toList();
+            assertEquals(1, winners.size(), "There should be one winner on " + graph.getKey() + ".");
+            int fewest = graph.getValue().stream().filter(fields -> !Boolean.parseBoolean(fields[6]))
+                    .mapToInt(fields -> Integer.parseInt(fields[4])).min().orElseThrow();
+            assertEquals(fewest, Integer.parseInt(winners.get(0)[4]));
+            assertEquals(exported.get(graph.getKey()), fewest, "The winner should be the coloring exported.");
+        }
+
+        // The JSON report has the same trials, one object per line
+        List<String> json = Files.readAllLines(output.resolve("trials.json"));
+        assertEquals("[", json.get(0));
+        assertEquals("]", json.get(json.size() - 1));
+        assertEquals(lines.size() - 1, json.size() - 2);
+        Pattern object = Pattern.compile("  \\{\"graph\": \"([^\"]+)\", .*\"winner\": (true|false)},?");
+        Map<String, Integer> jsonWinners = new TreeMap<>();
+        for (String line : json.subList(1, json.size() - 1)) {
+            Matcher matcher = object.matcher(line);
+            assertTrue(matcher.matches(), "Every trial should be a JSON object: " + line);
+            jsonWinners.merge(matcher.group(1), Boolean.parseBoolean(matcher.group(2)) ? 1 : 0, Integer::sum);
+        }
+        assertEquals(Map.of("graph-eval0.txt", 1, "graph-eval1.txt", 1, "graph-eval2.txt", 1), jsonWinners);
+    }
+
+    @Test
+    public void testScaledBudgets() {
+        ChallengeBudgets budgets = ChallengeBudgets.DEFAULT;
+
+        // A graph keeps the pool busy for 52 s, and its longest run takes 45 s
+        ChallengeBudgets half = budgets.scaledTo(48_500, 1, 1);
+        assertEquals(1_000, half.getExactMillis());
+        assertEquals(5_000, half.getMultiStartMillis());
+        assertEquals(10_000, half.getHybridEvolutionMillis());
+        assertEquals(10_000, half.getTabucolMillis());
+        assertEquals(12_500, half.getTimeoutMillis());
+
+        // Four graphs sharing four trials at a time take as long as a single graph on a single one
+        assertEquals(12_500, budgets.scaledTo(48_500, 4, 4).getTimeoutMillis());
+        assertEquals(7_500, budgets.scaledTo(44_700, 2, 1).getTimeoutMillis());
+        assertEquals(25_000, budgets.scaledTo(1_000_000, 1, 1).getTimeoutMillis(), "The budgets should never be scaled up.");
+        assertEquals(1, budgets.scaledTo(1, 100, 1).getExactMillis(), "A budget should stay at least 1 millisecond.");
+
+        assertThrows(IllegalArgumentException.class, () -> budgets.scaledTo(1_000, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> budgets.scaledTo(1_000, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ChallengeBudgets(0, 1, 1, 1, 1));
+    }
+
+    @Test
+    public void testTotalBudget(@TempDir Path folder)
+            throws IOException, GraphParsingException, GraphExportException, StatsExportException {
+        // Graphs whose searches use up their budgets, which would take far longer than the whole challenge
+        Path graphs = challengeFolder(folder, 16, 17, 18, 19);
+        Path output = Files.createDirectories(folder.resolve("output"));
+        ChallengeBudgets budgets = new ChallengeBudgets(10_000, 10_000, 10_000, 10_000, 10_000);
+        long totalMillis = 2_000;
+
+        long start = System.nanoTime();
+        ChallengeUtil.solveChallenge(graphs.toString(), output.toString(), 1, "graph-eval*.txt", budgets, totalMillis, null);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Leave some time to load the graphs and export the colorings once the trials are cancelled
+        assertTrue(elapsedMillis < totalMillis + 1_000, "The challenge took " + elapsedMillis + " ms.");
+        for (int i = 0; i < 4; i++) {
+            assertTrue(Files.exists(output.resolve("colo-eval" + i + ".txt")), "Every graph should get a coloring.");
+        }
+    }
+}
@@ -1,14 +1,30 @@
 package fr.univlyon1.flightmaster.lib;
 
+import fr.univlyon1.flightmaster.lib.Algos.CancellationToken;
 import fr.univlyon1.flightmaster.lib.Algos.Coloring;
+import fr.univlyon1.flightmaster.lib.Algos.ColoringAlgorithm;
+import fr.univlyon1.flightmaster.lib.Algos.ColoringCache;
+import fr.univlyon1.flightmaster.lib.Algos.ColoringResult;
+import fr.univlyon1.flightmaster.lib.Algos.CompactGraph;
+import fr.univlyon1.flightmaster.lib.Algos.DynamicColoring;
 import fr.univlyon1.flightmaster.lib.Exception.GraphParsingException;
 import fr.univlyon1.flightmaster.lib.IO.IOService;
+import fr.univlyon1.flightmaster.lib.Utils.GraphStatsUtil;
+import org.graphstream.graph.Edge;
+import org.graphstream.graph.ElementNotFoundException;
 import org.graphstream.graph.Graph;
 import org.graphstream.graph.Node;
+import org.graphstream.graph.implementations.MultiGraph;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -49,11 +65,425 @@ public class ColoringTests {
 
         Graph graph2 = IOService.loadGraph("TestFiles/graph-test1.txt");
         int conflicts2 = Coloring.recursiveLargestFirst(graph2);
-        assertEquals(5, conflicts2, "The number of conflicts should be 5.");
+        assertEquals(4, conflicts2, "The number of conflicts should be 4.");
+        assertNumberOfColors(graph2);
+
+        // more colors than needed should leave the extra colors unused
+        Graph graph3 = IOService.loadGraph("TestFiles/graph-test0.txt");
+        int conflicts3 = Coloring.recursiveLargestFirst(graph3, 10);
+        assertEquals(0, conflicts3, "The number of conflicts should be 0.");
+    }
+
+    @Test
+    public void testJonesPlassmann() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test0.txt");
+        int conflicts = Coloring.jonesPlassmann(graph);
+        assertEquals(0, conflicts, "The number of conflicts should be 0.");
+        assertNumberOfColors(graph);
+
+        Graph graph2 = IOService.loadGraph("TestFiles/graph-test1.txt");
+        int conflicts2 = Coloring.jonesPlassmann(graph2);
+        assertEquals(countConflicts(graph2), conflicts2, "The number of conflicts should match the coloring.");
+        assertNumberOfColors(graph2);
+
+        // large enough for the rounds to be colored in parallel, the coloring being the same on every run
+        Graph graph3 = grid(100);
+        assertEquals(0, Coloring.jonesPlassmann(graph3, 5), "The number of conflicts should be 0.");
+        assertEquals(0, countConflicts(graph3), "The coloring should have no conflict.");
+        int[] colors = graph3.nodes().mapToInt(n -> (int) n.getAttribute("color")).toArray();
+        Coloring.jonesPlassmann(graph3, 5);
+        assertArrayEquals(colors, graph3.nodes().mapToInt(n -> (int) n.getAttribute("color")).toArray(),
+                "The coloring should not depend on the threads.");
+        CompactGraph grid = CompactGraph.of(graph3);
+        for (int threads : new int[]{1, 4}) {
+            assertArrayEquals(colors, Coloring.computeColoring(grid, 5, ColoringAlgorithm.JONES_PLASSMANN, threads, null, null).getColors(),
+                    "The coloring should be the same on " + threads + " threads.");
+        }
+    }
+
+    @Test
+    public void testSmallestLast() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test0.txt");
+        int conflicts = Coloring.smallestLast(graph);
+        assertEquals(0, conflicts, "The number of conflicts should be 0.");
+        assertNumberOfColors(graph);
+
+        Graph graph2 = IOService.loadGraph("TestFiles/graph-test1.txt");
+        int conflicts2 = Coloring.smallestLast(graph2);
+        assertEquals(countConflicts(graph2), conflicts2, "The number of conflicts should match the coloring.");
+        assertNumberOfColors(graph2);
+
+        // a triangle with a pendant node, the parallel edge counting once
+        Graph graph3 = new MultiGraph("triangle");
+        for (String id : new String[]{"a", "b", "c", "d"}) {
+            graph3.addNode(id);
+        }
+        graph3.addEdge("ab", "a", "b");
+        graph3.addEdge("bc", "b", "c");
+        graph3.addEdge("ca", "c", "a");
+        graph3.addEdge("ca2", "c", "a");
+        graph3.addEdge("cd", "c", "d");
+        assertEquals(2, GraphStatsUtil.getDegeneracy(graph3), "The degeneracy should be 2.");
+        assertArrayEquals(new int[]{2, 2, 2, 1}, GraphStatsUtil.getCoreNumbers(graph3), "The core numbers should be correct.");
+
+        // degeneracy + 1 colors are always enough for the smallest-last ordering
+        Graph graph4 = IOService.loadGraph("TestFiles/graph-test7.txt");
+        assertEquals(0, Coloring.smallestLast(graph4, GraphStatsUtil.getDegeneracy(graph4) + 1), "The number of conflicts should be 0.");
+    }
+
+    @Test
+    public void testKernelReduction() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test0.txt");
+        int conflicts = Coloring.colorWithKernelReduction(graph, (int) graph.getAttribute("kmax"), ColoringAlgorithm.DSATUR);
+        assertEquals(0, conflicts, "The number of conflicts should be 0.");
+        assertNumberOfColors(graph);
+
+        Graph graph2 = IOService.loadGraph("TestFiles/graph-test9.txt");
+        int conflicts2 = Coloring.colorWithKernelReduction(graph2, (int) graph2.getAttribute("kmax"), ColoringAlgorithm.WELSH_POWELL);
+        assertEquals(countConflicts(graph2), conflicts2, "The number of conflicts should match the coloring.");
         assertNumberOfColors(graph2);
     }
 
+    @Test
+    public void testColorByComponents() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test0.txt");
+        int conflicts = Coloring.colorByComponents(graph, (int) graph.getAttribute("kmax"), 2);
+        assertEquals(0, conflicts, "The number of conflicts should be 0.");
+        assertNumberOfColors(graph);
 
+        // graph-test13 has several connected components
+        Graph graph2 = IOService.loadGraph("TestFiles/graph-test13.txt");
+        int conflicts2 = Coloring.colorByComponents(graph2, (int) graph2.getAttribute("kmax"), 4);
+        assertEquals(countConflicts(graph2), conflicts2, "The number of conflicts should match the coloring.");
+        assertNumberOfColors(graph2);
+    }
+
+    @Test
+    public void testExact() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test1.txt");
+        ColoringResult result = Coloring.exact(graph, (int) graph.getAttribute("kmax"), 10000);
+        assertTrue(result.isOptimal(), "The search should end within its budget.");
+        assertEquals(4, result.getConflicts(), "The number of conflicts should be 4.");
+        assertEquals(countConflicts(graph), result.getConflicts(), "The number of conflicts should match the coloring.");
+        assertNumberOfColors(graph);
+
+        Graph graph2 = IOService.loadGraph("TestFiles/graph-test4.txt");
+        ColoringResult result2 = Coloring.exact(graph2, (int) graph2.getAttribute("kmax"), 10000);
+        assertTrue(result2.isOptimal(), "The search should end within its budget.");
+        assertEquals(1, result2.getConflicts(), "The number of conflicts should be 1.");
+
+        // the search may start from a given coloring
+        int kmax = (int) graph.getAttribute("kmax");
+        ColoringResult start = Coloring.computeColoring(graph, kmax, ColoringAlgorithm.WELSH_POWELL);
+        ColoringResult result3 = Coloring.computeExact(CompactGraph.of(graph), kmax, start, 10000, null, null);
+        assertTrue(result3.isOptimal(), "The search should end within its budget.");
+        assertEquals(4, result3.getConflicts(), "The number of conflicts should be 4.");
+
+        // a component too large to be searched keeps the colors of the incumbent
+        Graph path = new MultiGraph("path");
+        path.addNode("0");
+        for (int i = 1; i < 10000; i++) {
+            path.addNode(String.valueOf(i));
+            path.addEdge((i - 1) + "-" + i, i - 1, i);
+        }
+        ColoringResult result4 = Coloring.exact(path, 1, 10000);
+        assertEquals(9999, result4.getConflicts(), "The number of conflicts should be 9999.");
+        assertFalse(result4.isOptimal(), "The large component should not be searched.");
+    }
+
+    @Test
+    public void testConflictLowerBound() throws GraphParsingException {
+        // a clique of 6 nodes with 2 colors has at least two triangles of conflicts
+        Graph graph = new MultiGraph("clique");
+        for (int i = 0; i < 6; i++) {
+            graph.addNode(String.valueOf(i));
+            for (int j = 0; j < i; j++) {
+                graph.addEdge(i + "-" + j, i, j);
+            }
+        }
+        assertEquals(6, Coloring.conflictLowerBound(graph, 2), "The lower bound should be 6.");
+        ColoringResult result = Coloring.exact(graph, 2, 10000);
+        assertEquals(6, result.getConflicts(), "The number of conflicts should be 6.");
+        assertTrue(result.isOptimal(), "A coloring reaching the lower bound should be optimal.");
+
+        Graph graph2 = IOService.loadGraph("TestFiles/graph-test15.txt");
+        int kmax = (int) graph2.getAttribute("kmax");
+        assertTrue(Coloring.conflictLowerBound(graph2, kmax) <= Coloring.DSATUR(graph2, kmax),
+                "The lower bound should not exceed the conflicts of a coloring.");
+    }
+
+    @Test
+    public void testDynamicColoring() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test6.txt");
+        DynamicColoring coloring = new DynamicColoring(graph, (int) graph.getAttribute("kmax"), ColoringAlgorithm.DSATUR);
+        assertEquals(countConflicts(graph), coloring.getConflicts(), "The number of conflicts should match the coloring.");
+
+        // a new node linked to the first ten nodes
+        coloring.addNode("new");
+        for (int i = 0; i < 10; i++) {
+            coloring.addEdge("new-" + i, "new", graph.getNode(i).getId());
+        }
+        assertEquals(countConflicts(graph), coloring.getConflicts(), "The number of conflicts should match the coloring.");
+        assertNumberOfColors(graph);
+
+        coloring.removeEdge("new-0");
+        coloring.removeNode(graph.getNode(1).getId());
+        assertEquals(countConflicts(graph), coloring.getConflicts(), "The number of conflicts should match the coloring.");
+        assertTrue(coloring.getConflicts() <= coloring.getReferenceConflicts() * (1 + coloring.getQualityGap()) + 1,
+                "The coloring should stay within the quality gap.");
+        assertNumberOfColors(graph);
+
+        // unknown elements are reported as by the graph, leaving the conflicts unchanged
+        int conflicts = coloring.getConflicts();
+        assertThrows(ElementNotFoundException.class, () -> coloring.removeNode("missing"));
+        assertThrows(ElementNotFoundException.class, () -> coloring.removeEdge("missing"));
+        assertEquals(conflicts, coloring.getConflicts(), "The number of conflicts should be unchanged.");
+    }
+
+    @Test
+    public void testTabucol() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test1.txt");
+        int initialConflicts = Coloring.welshPowell(graph);
+        int conflicts = Coloring.tabucol(graph, (int) graph.getAttribute("kmax"), 1000);
+        assertTrue(conflicts <= initialConflicts, "The local search should not increase the number of conflicts.");
+        assertEquals(countConflicts(graph), conflicts, "The number of conflicts should match the coloring.");
+        assertNumberOfColors(graph);
+
+        Graph graph2 = IOService.loadGraph("TestFiles/graph-test6.txt");
+        int conflicts2 = Coloring.tabucol(graph2, (int) graph2.getAttribute("kmax"), 1000);
+        assertEquals(0, conflicts2, "The number of conflicts should be 0.");
+        assertNumberOfColors(graph2);
+
+        // no move is made once the budget is spent
+        int kmax = (int) graph.getAttribute("kmax");
+        ColoringResult start = Coloring.computeColoring(graph, kmax, ColoringAlgorithm.WELSH_POWELL);
+        ColoringResult result = Coloring.tabucol(graph, kmax, start, 0, 0);
+        assertEquals(0, result.getIterations(), "The search should stop before its first move.");
+        assertEquals(start.getConflicts(), result.getConflicts(), "The coloring should be unchanged.");
+    }
+
+    @Test
+    public void testMultiStart() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test7.txt");
+        int kmax = (int) graph.getAttribute("kmax");
+        ColoringResult result = Coloring.multiStart(graph, kmax, 4, 300, 42);
+        assertEquals(countConflicts(graph), result.getConflicts(), "The number of conflicts should match the coloring.");
+        assertNumberOfColors(graph);
+
+        // a single start with the winning seed gives back the same coloring
+        Graph graph2 = IOService.loadGraph("TestFiles/graph-test7.txt");
+        ColoringResult replay = Coloring.multiStart(graph2, kmax, 1, 0, result.getSeed());
+        assertEquals(result.getAlgorithm(), replay.getAlgorithm(), "The algorithm should be the same.");
+        assertArrayEquals(result.getColors(), replay.getColors(), "The colors should be the same.");
+    }
+
+    @Test
+    public void testColoringResult() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test7.txt");
+        int kmax = (int) graph.getAttribute("kmax");
+        ColoringResult result = Coloring.computeColoring(graph, kmax, ColoringAlgorithm.DSATUR);
+        assertNull(graph.getNode(0).getAttribute("color"), "The coloring should not be written to the graph.");
+        assertEquals(result.getConflicts(), result.getConflictingEdges().length, "Every conflict should have its edge.");
+        for (int e : result.getConflictingEdges()) {
+            Edge edge = graph.getEdge(e);
+            assertEquals(result.getColor(edge.getNode0().getIndex()), result.getColor(edge.getNode1().getIndex()),
+                    "The conflicting edges should join nodes of the same color.");
+        }
+
+        ColoringResult copy = result.copy();
+        assertEquals(result, copy, "The copy should be equal to the result.");
+        assertEquals(0, result.compareTo(copy), "The copy should compare equal to the result.");
+
+        // the local search starts from the result and never makes it worse
+        ColoringResult improved = Coloring.tabucol(graph, kmax, result, 200, 0);
+        assertTrue(improved.compareTo(result) <= 0, "The local search should not add conflicts.");
+        assertArrayEquals(copy.getColors(), result.getColors(), "The start coloring should be left unchanged.");
+
+        improved.applyTo(graph);
+        assertEquals(improved.getConflicts(), countConflicts(graph), "The applied coloring should have the same conflicts.");
+        assertNumberOfColors(graph);
+    }
+
+    @Test
+    public void testCancellation() {
+        Graph graph = grid(100);
+
+        // the listener cancels the run halfway, the remaining nodes still getting a color
+        CancellationToken token = new CancellationToken();
+        int[] reports = new int[1];
+        ColoringResult result = Coloring.computeColoring(graph, 3, ColoringAlgorithm.DSATUR, token, (colored, conflicts, elapsed) -> {
+            reports[0]++;
+            if (colored >= 5000) {
+                token.cancel();
+            }
+        });
+        assertTrue(token.isCancelled(), "The token should have been cancelled.");
+        assertTrue(reports[0] > 1, "The progress should have been reported.");
+        result.applyTo(graph);
+        assertEquals(countConflicts(graph), result.getConflicts(), "The number of conflicts should match the coloring.");
+        for (Node node : graph) {
+            int color = (int) node.getAttribute("color");
+            assertTrue(color >= 1 && color <= 3, "Every node should have a color between 1 and kmax.");
+        }
+
+        // a cancelled token stops the local search long before its time budget
+        long start = System.nanoTime();
+        ColoringResult improved = Coloring.tabucol(graph, 3, result, 60_000, 0, token, null);
+        assertTrue(System.nanoTime() - start < 10_000_000_000L, "The local search should stop when cancelled.");
+        assertTrue(improved.getIterations() <= 1024, "The local search should stop at its first check.");
+    }
+
+    @Test
+    public void testHybridEvolution() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test7.txt");
+        int kmax = (int) graph.getAttribute("kmax");
+        int dsatur = Coloring.computeColoring(graph, kmax, ColoringAlgorithm.DSATUR).getConflicts();
+        int conflicts = Coloring.hybridEvolution(graph, kmax, 10, 500, 42);
+        assertEquals(countConflicts(graph), conflicts, "The number of conflicts should match the coloring.");
+        assertTrue(conflicts <= dsatur, "The evolution should not do worse than DSATUR.");
+        assertNumberOfColors(graph);
+
+        assertThrows(IllegalArgumentException.class, () -> Coloring.hybridEvolution(graph, kmax, 1, 500, 42));
+    }
+
+    @Test
+    public void testRecolor() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test7.txt");
+        int kmax = (int) graph.getAttribute("kmax");
+        ColoringResult previous = Coloring.computeColoring(graph, kmax, ColoringAlgorithm.DSATUR);
+
+        ColoringResult raised = Coloring.recolor(graph, kmax + 2, previous);
+        assertTrue(raised.getConflicts() <= previous.getConflicts(), "Raising kmax should not add conflicts.");
+        assertTrue(raised.getIterations() <= previous.getConflicts(), "Each move should remove at least one conflict.");
+
+        int lowered = Coloring.recolor(graph, kmax - 1);
+        assertEquals(countConflicts(graph), lowered, "The number of conflicts should match the coloring.");
+        for (int i = 0; i < graph.getNodeCount(); i++) {
+            int color = (int) graph.getNode(i).getAttribute("color");
+            assertTrue(color >= 1 && color <= kmax - 1, "The colors should be between 1 and the new kmax.");
+        }
+
+        graph.addNode("new");
+        assertThrows(IllegalArgumentException.class, () -> Coloring.recolor(graph, kmax, previous));
+
+        // only the nodes of the dropped colors are moved, the conflict between a and b being left as it was
+        Graph small = new MultiGraph("small");
+        int[] colors = {1, 1, 3, 1};
+        for (int i = 0; i < colors.length; i++) {
+            small.addNode(String.valueOf((char) ('a' + i))).setAttribute("color", colors[i]);
+        }
+        small.addEdge("a-b", "a", "b");
+        small.addEdge("c-d", "c", "d");
+        assertEquals(1, Coloring.recolor(small, 2), "Only the conflict between a and b should be left.");
+        for (String id : new String[]{"a", "b", "d"}) {
+            assertEquals(1, (int) small.getNode(id).getAttribute("color"), "The node " + id + " should keep its color.");
+        }
+        assertEquals(2, (int) small.getNode("c").getAttribute("color"), "The node c should take the free color.");
+    }
+
+    @Test
+    public void testColoringCache(@TempDir Path folder) throws GraphParsingException, IOException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test7.txt");
+        int kmax = (int) graph.getAttribute("kmax");
+        ColoringResult expected = Coloring.computeColoring(graph, kmax, ColoringAlgorithm.DSATUR);
+
+        ColoringCache cache = new ColoringCache(1, folder);
+        assertEquals(expected, cache.computeColoring(graph, kmax, ColoringAlgorithm.DSATUR), "A miss should compute the coloring.");
+        assertEquals(expected, cache.computeColoring(IOService.loadGraph("TestFiles/graph-test7.txt"), kmax, ColoringAlgorithm.DSATUR),
+                "The same graph loaded again should hit the cache.");
+        assertEquals(1, cache.getMemoryHits(), "The second call should be a memory hit.");
+
+        // The coloring with another kmax evicts the first one from memory, which is then read from disk
+        cache.computeColoring(graph, kmax + 1, ColoringAlgorithm.DSATUR);
+        ColoringResult fromDisk = cache.computeColoring(graph, kmax, ColoringAlgorithm.DSATUR);
+        assertEquals(expected, fromDisk, "The coloring read from disk should be the same.");
+        assertArrayEquals(expected.getConflictingEdges(), fromDisk.getConflictingEdges(), "The conflicting edges should be the same.");
+        assertEquals(1, cache.getDiskHits(), "The last call should be a disk hit.");
+        assertEquals(2, cache.getMisses(), "Only the two distinct colorings should be computed.");
+
+        // Clearing only empties the memory tier, the coloring being read from disk again
+        cache.clear();
+        assertEquals(0, cache.size(), "The memory tier should be empty.");
+        assertEquals(expected, cache.computeColoring(graph, kmax, ColoringAlgorithm.DSATUR), "The coloring should be read from disk.");
+        assertEquals(2, cache.getDiskHits(), "The counts should be kept by clear.");
+        assertEquals(2, cache.getMisses(), "The coloring on disk should be kept by clear.");
+
+        // A file whose conflicts are not the ones of its colors is computed again
+        try (var files = Files.list(folder)) {
+            for (Path file : files.toList()) {
+                List<String> lines = new ArrayList<>(Files.readAllLines(file));
+                lines.set(0, Integer.toString(Integer.parseInt(lines.get(0)) + 1));
+                Files.write(file, lines);
+            }
+        }
+        ColoringCache reloaded = new ColoringCache(1, folder);
+        assertEquals(expected, reloaded.computeColoring(graph, kmax, ColoringAlgorithm.DSATUR), "The coloring should be computed again.");
+        assertEquals(1, reloaded.getMisses(), "The altered file should be a miss.");
+
+        graph.addEdge("new", 0, graph.getNodeCount() - 1);
+        assertNotEquals(ColoringCache.fingerprint(IOService.loadGraph("TestFiles/graph-test7.txt")), ColoringCache.fingerprint(graph),
+                "Adding an edge should change the fingerprint.");
+    }
+
+    @Test
+    public void testCompactGraph() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test6.txt");
+        CompactGraph compact = CompactGraph.of(graph);
+        assertEquals(graph.getNodeCount(), compact.getNodeCount(), "The number of nodes should be correct.");
+        for (int i = 0; i < compact.getNodeCount(); i++) {
+            assertEquals(graph.getNode(i).getDegree(), compact.getDegree(i), "The degree should be correct.");
+            assertSame(graph.getNode(i), compact.getNode(i), "The node indices should match the graph ones.");
+        }
+    }
+
+    @Test
+    public void testSharedTopology() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("TestFiles/graph-test1.txt");
+        int kmax = (int) graph.getAttribute("kmax");
+        CompactGraph topology = CompactGraph.of(graph);
+
+        // the runs on the compact graph give the same colorings and leave the graph uncolored
+        ColoringResult dsatur = Coloring.computeColoring(topology, kmax, ColoringAlgorithm.DSATUR, null, null);
+        assertEquals(Coloring.computeColoring(graph, kmax, ColoringAlgorithm.DSATUR), dsatur, "The colorings should be the same.");
+        ColoringResult exact = Coloring.computeExact(topology, kmax, 10000, null, null);
+        assertEquals(4, exact.getConflicts(), "The number of conflicts should be 4.");
+        ColoringResult multiStart = Coloring.computeMultiStart(topology, kmax, 2, 100, 42, null, null);
+        assertTrue(Coloring.tabucol(topology, kmax, multiStart, 100, 0, null, null).getConflicts() <= multiStart.getConflicts(),
+                "The local search should not increase the number of conflicts.");
+        for (Node node : graph) {
+            assertNull(node.getAttribute("color"), "The graph should not be colored.");
+        }
+
+        exact.applyTo(graph);
+        assertEquals(countConflicts(graph), exact.getConflicts(), "The number of conflicts should match the coloring.");
+        assertEquals(exact.getConflicts(), exact.getConflictingEdges().length, "The conflicting edges should be listed.");
+    }
+
+
+
+    private Graph grid(int side) {
+        Graph graph = new MultiGraph("grid");
+        for (int i = 0; i < side * side; i++) {
+            graph.addNode(String.valueOf(i));
+            if (i % side > 0) {
+                graph.addEdge(i + "-" + (i - 1), i, i - 1);
+            }
+            if (i >= side) {
+                graph.addEdge(i + "-" + (i - side), i, i - side);
+            }
+        }
+        return graph;
+    }
+
+    private int countConflicts(Graph graph) {
+        int conflicts = 0;
+        for (Edge edge : graph.edges().toList()) {
+            if (edge.getNode0().getAttribute("color").equals(edge.getNode1().getAttribute("color"))) {
+                conflicts++;
+            }
+        }
+        return conflicts;
+    }
 
     private void assertNumberOfColors(Graph graph) {
         HashSet<Integer> usedColors = new HashSet<>();
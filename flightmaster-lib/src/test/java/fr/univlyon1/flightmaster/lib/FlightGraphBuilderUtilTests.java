@@ -7,12 +7,14 @@ import fr.univlyon1.flightmaster.lib.Models.Flight;
 import fr.univlyon1.flightmaster.lib.Utils.FlightGraphBuilderUtil;
 import fr.univlyon1.flightmaster.lib.Utils.GraphStatsUtil;
 import org.graphstream.graph.Graph;
+import org.graphstream.graph.implementations.MultiGraph;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 public class FlightGraphBuilderUtilTests {
@@ -36,4 +38,19 @@ public class FlightGraphBuilderUtilTests {
         assertEquals(3.0, GraphStatsUtil.diameter(graph), "The diameter should be correct.");
 
     }
+
+    @Test
+    public void testAddEdge() {
+        Graph graph = new MultiGraph("graph");
+        graph.addNode("a");
+        graph.addNode("b");
+        FlightGraphBuilderUtil.addEdge(graph, "a", "b");
+        FlightGraphBuilderUtil.addEdge(graph, "a", "b");
+        graph.removeEdge("0");
+
+        // the edge left has the id the edge count gives, which must not be reused
+        String id = FlightGraphBuilderUtil.addEdge(graph, "b", "a").getId();
+        assertNotEquals("1", id, "The id should not be in use.");
+        assertEquals(2, graph.getEdgeCount(), "The number of edges should be correct.");
+    }
 }
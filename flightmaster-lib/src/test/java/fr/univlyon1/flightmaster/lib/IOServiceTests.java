@@ -4,10 +4,14 @@ import fr.univlyon1.flightmaster.lib.Algos.Coloring;
 import fr.univlyon1.flightmaster.lib.Exception.CSVParsingException;
 import fr.univlyon1.flightmaster.lib.Exception.GraphExportException;
 import fr.univlyon1.flightmaster.lib.Exception.GraphParsingException;
+import fr.univlyon1.flightmaster.lib.Exception.StatsExportException;
 import fr.univlyon1.flightmaster.lib.IO.IOService;
 import fr.univlyon1.flightmaster.lib.Models.Airport;
 import fr.univlyon1.flightmaster.lib.Models.Flight;
+import fr.univlyon1.flightmaster.lib.Models.TrialReport;
+import fr.univlyon1.flightmaster.lib.Utils.GraphStyleUtil;
 import org.graphstream.graph.Graph;
+import org.graphstream.graph.Node;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -230,4 +234,50 @@ public class IOServiceTests {
             IOService.exportConflicts(filenames, conflicts, "");
         });
     }
+
+    @Test
+    public void testExportTrialReport(@TempDir Path tempDir) throws IOException, StatsExportException {
+        TrialReport dsatur = new TrialReport("graph-test0.txt", "DSatur", 3, 12, 0, false, false, 1_024);
+        TrialReport odd = new TrialReport("graph-test0.txt", "Say \"hi\" \\ tab\tend", 3, 40, -1, false, true, 2_048);
+        dsatur.setWinner(true);
+        List<TrialReport> trials = List.of(dsatur, odd);
+
+        Path csv = tempDir.resolve("trials.csv");
+        IOService.exportTrialReportCsv(trials, csv.toString());
+        assertEquals(List.of("graph;algorithm;loadMillis;coloringMillis;conflicts;timedOut;failed;peakHeapBytes;winner",
+                "graph-test0.txt;DSatur;3;12;0;false;false;1024;true",
+                "graph-test0.txt;Say \"hi\" \\ tab\tend;3;40;-1;false;true;2048;false"),
+                Files.readAllLines(csv, StandardCharsets.UTF_8));
+
+        // The quotes, backslashes and control characters of the names are escaped
+        Path json = tempDir.resolve("trials.json");
+        IOService.exportTrialReportJson(trials, json.toString());
+        assertEquals(List.of("[",
+                "  {\"graph\": \"graph-test0.txt\", \"algorithm\": \"DSatur\", \"loadMillis\": 3, \"coloringMillis\": 12, "
+                        + "\"conflicts\": 0, \"timedOut\": false, \"failed\": false, \"peakHeapBytes\": 1024, \"winner\": true},",
+                "  {\"graph\": \"graph-test0.txt\", \"algorithm\": \"Say \\\"hi\\\" \\\\ tab\\u0009end\", \"loadMillis\": 3, "
+                        + "\"coloringMillis\": 40, \"conflicts\": -1, \"timedOut\": false, \"failed\": true, "
+                        + "\"peakHeapBytes\": 2048, \"winner\": false}",
+                "]"), Files.readAllLines(json, StandardCharsets.UTF_8));
+
+        assertThrows(StatsExportException.class, () -> IOService.exportTrialReportCsv(trials, ""));
+        assertThrows(StatsExportException.class, () -> IOService.exportTrialReportJson(trials, ""));
+    }
+
+    @Test
+    public void testApplyStyles() throws GraphParsingException {
+        Graph graph = IOService.loadGraph("./TestFiles/graph-test0.txt");
+        assertNull(graph.getNode("1").getAttribute("ui.style"), "A loaded graph should not have display attributes.");
+
+        Coloring.welshPowell(graph, 4);
+        assertNull(graph.getNode("1").getAttribute("ui.style"), "Coloring should only set the color attributes.");
+
+        GraphStyleUtil.applyStyles(graph);
+        String[] palette = GraphStyleUtil.generateColorPalette(4);
+        for (Node node : graph) {
+            assertEquals(node.getId(), node.getAttribute("ui.label"), "The label should be the node id.");
+            int color = (int) node.getAttribute("color");
+            assertEquals("fill-color: " + palette[color - 1] + ";", node.getAttribute("ui.style"), "The style should match the color.");
+        }
+    }
 }